@@ -1,10 +1,15 @@
 package tetris;
 
 import javafx.application.Application;
+import tetris.server.BotServer;
 import tetris.view.SplashScreen;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--bot-server")) {
+            BotServer.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         Application.launch(SplashScreen.class, args);
     }
 }
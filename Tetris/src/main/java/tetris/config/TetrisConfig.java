@@ -12,8 +12,21 @@ public class TetrisConfig {
     private boolean music = true;
     private boolean soundEffect = true;
     private boolean extendMode  = false;
+    private String boardRenderer = "canvas";       // canvas | pixels (large boards)
     private PlayerType player1Type = PlayerType.HUMAN;
     private PlayerType player2Type = PlayerType.HUMAN;
+    private String aiBot = "better";               // BotRegistry name; plugins add more
+    private java.util.List<String> externalEndpoints = new java.util.ArrayList<>(java.util.List.of("localhost:3000")); // host:port replicas of one bot
+    private long externalHeartbeatMillis = 0;      // 0 = off; TetrisServer.jar cannot answer pings
+    private long externalReconnectMaxMillis = 5_000;
+    private int  externalBreakerThreshold = 5;
+    private boolean externalHedging = true;        // local AI answers when the server is too slow
+    private int spectatorPort = 0;                 // 0 = no spectator feed
+    private String externalTransport = "tcp";      // tcp | unix | shm | proc
+    private String externalSocketPath = "/tmp/tetris-player.sock";
+    private String externalShmPath = "/tmp/tetris-player.shm";
+    private String externalCommand = "";           // bot executable and arguments, for proc
+    private long externalMoveTimeoutMillis = 1_000; // proc: restart a bot stuck on a move
 
     public TetrisConfig() {}
 
@@ -50,9 +63,48 @@ public class TetrisConfig {
     public boolean isExtendMode() { return extendMode; }
     public void setExtendMode(boolean v) { extendMode = v; }
 
+    public String getBoardRenderer() { return boardRenderer; }
+    public void setBoardRenderer(String v) { boardRenderer = v; }
+
     public PlayerType getPlayer1Type() { return player1Type; }
     public void setPlayer1Type(PlayerType t) { player1Type = t; }
 
     public PlayerType getPlayer2Type() { return player2Type; }
     public void setPlayer2Type(PlayerType t) { player2Type = t; }
+
+    public String getAiBot() { return aiBot; }
+    public void setAiBot(String v) { aiBot = v; }
+
+    public java.util.List<String> getExternalEndpoints() { return externalEndpoints; }
+    public void setExternalEndpoints(java.util.List<String> v) { externalEndpoints = v; }
+
+    public long getExternalHeartbeatMillis() { return externalHeartbeatMillis; }
+    public void setExternalHeartbeatMillis(long v) { externalHeartbeatMillis = v; }
+
+    public long getExternalReconnectMaxMillis() { return externalReconnectMaxMillis; }
+    public void setExternalReconnectMaxMillis(long v) { externalReconnectMaxMillis = v; }
+
+    public int getExternalBreakerThreshold() { return externalBreakerThreshold; }
+    public void setExternalBreakerThreshold(int v) { externalBreakerThreshold = v; }
+
+    public boolean isExternalHedging() { return externalHedging; }
+    public void setExternalHedging(boolean v) { externalHedging = v; }
+
+    public int getSpectatorPort() { return spectatorPort; }
+    public void setSpectatorPort(int v) { spectatorPort = v; }
+
+    public String getExternalTransport() { return externalTransport; }
+    public void setExternalTransport(String v) { externalTransport = v; }
+
+    public String getExternalSocketPath() { return externalSocketPath; }
+    public void setExternalSocketPath(String v) { externalSocketPath = v; }
+
+    public String getExternalShmPath() { return externalShmPath; }
+    public void setExternalShmPath(String v) { externalShmPath = v; }
+
+    public String getExternalCommand() { return externalCommand; }
+    public void setExternalCommand(String v) { externalCommand = v; }
+
+    public long getExternalMoveTimeoutMillis() { return externalMoveTimeoutMillis; }
+    public void setExternalMoveTimeoutMillis(long v) { externalMoveTimeoutMillis = v; }
 }
@@ -4,6 +4,7 @@ import javafx.application.Platform;
 import tetris.model.dto.OpMove;
 import tetris.model.dto.PureGame;
 import tetris.model.ai.Heuristic;
+import tetris.model.service.LatencyHistogram;
 
 import java.util.concurrent.*;
 
@@ -11,6 +12,7 @@ public class AIPlayer implements Player {
     private final Heuristic heuristic;                       // Heuristic used to score boards
     private final ExecutorService exec = Executors.newSingleThreadExecutor(); // Background thread for AI
     private static final double LOOKAHEAD_GAMMA = 0.9;       // Discount for next-piece lookahead
+    private final LatencyHistogram thinkTimes = new LatencyHistogram(); // computeBest() per async request
 
     public AIPlayer(Heuristic heuristic) { this.heuristic = heuristic; }
 
@@ -21,7 +23,9 @@ public class AIPlayer implements Player {
         // Compute move off the FX thread, then deliver result back on FX thread
         exec.submit(() -> {
             try {
+                long t0 = System.nanoTime();
                 OpMove mv = computeBest(game);               // Find best rotation/column for current piece
+                thinkTimes.record(System.nanoTime() - t0);
                 Platform.runLater(() -> onReady.accept(mv)); // Notify UI/game logic safely
             } catch (Throwable t) {
                 Platform.runLater(() -> onError.accept(t));  // Surface any failure
@@ -29,7 +33,10 @@ public class AIPlayer implements Player {
         });
     }
 
-    private OpMove computeBest(PureGame g) {
+    public LatencyHistogram thinkTimes() { return thinkTimes; }
+
+    // Synchronous search; also the brain of the stand-in servers and the shared-memory reference bot
+    public OpMove computeBest(PureGame g) {
         int[][] board = clone2D(g.cells);                    // Work on a copy of the board
         int bestRot = 0, bestX = 0;
         double bestScore = -1e100;                           // Very low sentinel score
@@ -72,6 +79,34 @@ public class AIPlayer implements Player {
         return mv;
     }
 
+    // computeBest plus the follow-up move for nextShape, so one reply covers two pieces
+    public OpMove computePlan(PureGame g) {
+        OpMove mv = computeBest(g);
+        if (g.nextShape == null || g.nextShape.length == 0) return mv;
+        SimResult cur = simulateDrop(clone2D(g.cells), rotate(g.currentShape, mv.opRotate), mv.opX);
+        if (!cur.valid) return mv;
+
+        PureGame after = new PureGame();
+        after.width = g.width; after.height = g.height;
+        after.cells = cur.after;
+        after.currentShape = g.nextShape;            // the piece after that is unknown
+        mv.next = computeBest(after);
+        mv.next.expect = columnHeights(cur.after);
+        return mv;
+    }
+
+    // Filled height of each column, counted from the floor
+    public static int[] columnHeights(int[][] cells) {
+        int H = cells.length, W = cells[0].length;
+        int[] h = new int[W];
+        for (int x = 0; x < W; x++) {
+            int y = 0;
+            while (y < H && cells[y][x] == 0) y++;
+            h[x] = H - y;
+        }
+        return h;
+    }
+
     // Result of simulating a drop
     private static class SimResult {
         final boolean valid; final int[][] after; final int linesCleared;
@@ -0,0 +1,106 @@
+package tetris.controller;
+
+import javafx.scene.image.Image;
+import javafx.scene.media.Media;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
+
+// Images and music, decoded once and shared by every view. The splash screen calls preloadAll(),
+// which loads everything (sound effects included) on a few background threads, so the first game
+// and later view switches only hit the caches. Anything asked for before then loads on the spot.
+public final class AssetManager {
+    public static final String SPLASH_IMAGE = "/pic3.png";
+    public static final String MUSIC = "/sounds/background.mp3";
+
+    private static final Map<String, Optional<Image>> images = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<Media>> media = new ConcurrentHashMap<>();
+
+    private AssetManager() {}
+
+    // progress gets the finished fraction in (0, 1] from a loader thread, ending with 1.0
+    public static CompletableFuture<Void> preloadAll(DoubleConsumer progress) {
+        List<Runnable> loads = new ArrayList<>();
+        loads.add(() -> image(SPLASH_IMAGE));
+        loads.add(() -> media(MUSIC));
+        for (String effect : new String[] { SoundService.MOVE_TURN, SoundService.ERASE_LINE, SoundService.GAME_FINISH }) {
+            loads.add(() -> SoundService.preload(effect));
+        }
+        int threads = Math.min(loads.size(), Math.max(2, Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "asset-loader");
+            t.setDaemon(true);
+            return t;
+        });
+        CompletableFuture<Void> done = runAll(loads, progress, pool);
+        pool.shutdown();
+        return done;
+    }
+
+    // Runs every load on the pool; a failing load still counts, so startup never stalls on one asset
+    static CompletableFuture<Void> runAll(List<Runnable> loads, DoubleConsumer progress, ExecutorService pool) {
+        AtomicInteger finished = new AtomicInteger();
+        int total = loads.size();
+        if (total == 0) {
+            progress.accept(1.0);
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<?>[] all = new CompletableFuture<?>[total];
+        for (int i = 0; i < total; i++) {
+            Runnable load = loads.get(i);
+            all[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    load.run();
+                } catch (RuntimeException e) {
+                    System.err.println("[assets] " + e);
+                } finally {
+                    progress.accept((double) finished.incrementAndGet() / total);
+                }
+            }, pool);
+        }
+        return CompletableFuture.allOf(all);
+    }
+
+    // null if the resource is missing or cannot be decoded
+    public static Image image(String resource) {
+        return images.computeIfAbsent(resource, r -> {
+            URL url = url(r);
+            if (url == null) return Optional.empty();
+            Image img = new Image(url.toExternalForm(), false);   // decodes now, on the calling thread
+            if (img.isError()) {
+                System.err.println("[assets] cannot load " + r + ": " + img.getException());
+                return Optional.empty();
+            }
+            return Optional.of(img);
+        }).orElse(null);
+    }
+
+    // null if the resource is missing or the format is unsupported; each caller makes its own MediaPlayer
+    public static Media media(String resource) {
+        return media.computeIfAbsent(resource, r -> {
+            URL url = url(r);
+            if (url == null) return Optional.empty();
+            try {
+                return Optional.of(new Media(url.toExternalForm()));
+            } catch (RuntimeException e) {
+                System.err.println("[assets] cannot load " + r + ": " + e);
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    private static URL url(String resource) {
+        URL url = AssetManager.class.getResource(resource);
+        if (url == null) System.err.println("[assets] " + resource + " not found");
+        return url;
+    }
+}
@@ -0,0 +1,25 @@
+package tetris.controller;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Exponential backoff with full jitter: delay is uniform in [0, min(max, base * 2^attempt)].
+public class Backoff {
+    private final long baseMillis;
+    private final long maxMillis;
+    private int attempt = 0;
+
+    public Backoff(long baseMillis, long maxMillis) {
+        this.baseMillis = Math.max(1, baseMillis);
+        this.maxMillis = Math.max(this.baseMillis, maxMillis);
+    }
+
+    public synchronized long nextDelayMillis() {
+        long ceiling = Math.min(maxMillis, baseMillis << Math.min(attempt, 30));
+        attempt++;
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    public synchronized int attempts() { return attempt; }
+
+    public synchronized void reset() { attempt = 0; }
+}
@@ -0,0 +1,19 @@
+package tetris.controller;
+
+import tetris.model.ai.Heuristic;
+
+// Plugin point for in-process bots. A jar on the classpath lists its implementations in
+// META-INF/services/tetris.controller.BotProvider; TetrisConfig.aiBot picks one by name.
+// Provide a heuristic to reuse the built-in search, or override player() for a full bot,
+// which must deliver its callbacks on the FX thread like AIPlayer does.
+public interface BotProvider {
+    String name();
+
+    default Heuristic heuristic() { return null; }
+
+    default Player player() {
+        Heuristic h = heuristic();
+        if (h == null) throw new IllegalStateException("bot '" + name() + "' provides neither a heuristic nor a player");
+        return new AIPlayer(h);
+    }
+}
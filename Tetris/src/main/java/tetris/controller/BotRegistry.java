@@ -0,0 +1,62 @@
+package tetris.controller;
+
+import tetris.model.ai.BetterHeuristic;
+
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeMap;
+
+// The built-in bot plus any found through ServiceLoader, by lower-case name; scanned once, on first use
+public final class BotRegistry {
+    public static final String DEFAULT = "better";
+
+    private static volatile Map<String, BotProvider> providers;
+
+    private BotRegistry() {}
+
+    public static final class Better implements BotProvider {
+        @Override public String name() { return DEFAULT; }
+        @Override public tetris.model.ai.Heuristic heuristic() { return new BetterHeuristic(); }
+    }
+
+    private static Map<String, BotProvider> providers() {
+        Map<String, BotProvider> p = providers;
+        if (p != null) return p;
+        synchronized (BotRegistry.class) {
+            if (providers == null) {
+                Map<String, BotProvider> found = new TreeMap<>();
+                found.put(DEFAULT, new Better());
+                var it = ServiceLoader.load(BotProvider.class).iterator();
+                while (true) {
+                    try {
+                        if (!it.hasNext()) break;
+                        BotProvider bp = it.next();
+                        found.put(bp.name().toLowerCase(), bp);
+                    } catch (ServiceConfigurationError e) {
+                        System.out.println("[bots] skipping provider: " + e.getMessage()); // one broken jar should not hide the rest
+                    }
+                }
+                providers = found;
+            }
+            return providers;
+        }
+    }
+
+    public static Set<String> names() { return providers().keySet(); }
+
+    public static BotProvider find(String name) {
+        return name == null ? null : providers().get(name.toLowerCase());
+    }
+
+    // Unknown names fall back to the built-in bot so a stale config still plays
+    public static BotProvider get(String name) {
+        BotProvider bp = find(name);
+        if (bp != null) return bp;
+        if (name != null && !name.isBlank()) System.out.println("[bots] no bot named '" + name + "'; using " + DEFAULT);
+        return providers().get(DEFAULT);
+    }
+
+    public static Player player(String name) { return get(name).player(); }
+}
@@ -0,0 +1,56 @@
+package tetris.controller;
+
+import java.util.function.LongSupplier;
+
+// Stops hammering a dead peer: after `threshold` consecutive failures the breaker opens
+// for `cooldown`, then lets a single trial through (half-open) before closing again.
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int threshold;
+    private final long cooldownNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int failures = 0;
+    private long openedAt = 0L;
+
+    public CircuitBreaker(int threshold, long cooldownMillis) {
+        this(threshold, cooldownMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(int threshold, long cooldownMillis, LongSupplier clock) {
+        this.threshold = Math.max(1, threshold);
+        this.cooldownNanos = cooldownMillis * 1_000_000L;
+        this.clock = clock;
+    }
+
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= cooldownNanos) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    public synchronized void onSuccess() {
+        failures = 0;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= threshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    // Time left before a trial is allowed again; zero unless open
+    public synchronized long remainingCooldownMillis() {
+        if (state != State.OPEN) return 0;
+        return Math.max(0, (cooldownNanos - (clock.getAsLong() - openedAt)) / 1_000_000L);
+    }
+
+    public synchronized State state() { return state; }
+}
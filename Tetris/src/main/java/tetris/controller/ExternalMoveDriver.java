@@ -0,0 +1,105 @@
+package tetris.controller;
+
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+
+import java.util.Arrays;
+
+// Gets a move from the external player for each piece a board spawns: plays the previous reply's
+// plan when the board came out as the bot expected, otherwise asks, at most once at a time per
+// piece (ExternalRequestTracker). The board steers the piece; this only decides when to ask.
+// Confined to the "game-sim" thread like the board that owns it; replies come back through
+// the board's onSim() inbox.
+public final class ExternalMoveDriver {
+    public enum Ask { SPAWN, LATE_JOIN, RECOVERY }
+
+    // The board side
+    public interface Host {
+        boolean pieceInPlay();                      // running, not over, with a current piece
+        boolean steering();                         // the current piece already follows a move
+        PureGame snapshot();
+        void onSim(Runnable r);
+        void steer(OpMove mv);                      // play this move on the current piece
+        void requestFailed(Ask why, Throwable err);
+        default void asked(Ask why) {}              // a request just went out
+    }
+
+    private final Host host;
+    private final ExternalRequestTracker requests = new ExternalRequestTracker();
+    private Player player;
+    private INetwork net;
+    private OpMove plannedNext;                     // the last reply's move for the piece after it
+
+    public ExternalMoveDriver(Host host) { this.host = host; }
+
+    public void attach(Player player, INetwork net) {
+        this.player = player;
+        this.net = net;
+    }
+
+    public void detach() {
+        player = null;
+        net = null;
+        plannedNext = null;
+    }
+
+    public boolean attached() { return player != null; }
+
+    public ExternalRequestTracker requests() { return requests; }
+
+    // New game: a plan made for the old board no longer applies
+    public void reset() { plannedNext = null; }
+
+    // A new piece is in play. False if the external player will not move it, so the
+    // local AI or the human may
+    public boolean newPiece() {
+        requests.newPiece();
+        if (player == null) return false;
+        if (followPlan()) return true;
+        if (net == null || !net.isAvailable()) return false;
+        ask(Ask.SPAWN);
+        return true;
+    }
+
+    // From the running tick: joins a piece nobody asked about yet. Cheap enough for every step.
+    public void askIfIdle() {
+        if (player != null && !host.steering() && requests.mayAsk(false)) ask(Ask.LATE_JOIN);
+    }
+
+    // Asks for the piece in play. A late join or recovery leaves a piece that already has a
+    // move alone; after an outage a failed request may be retried. Replies for an older piece
+    // are dropped.
+    public void ask(Ask why) {
+        if (player == null || !host.pieceInPlay()) return;
+        if (why != Ask.SPAWN && host.steering()) return;
+        if (net == null || !net.isAvailable()) return;
+        if (!requests.begin(why == Ask.RECOVERY)) return;
+
+        long piece = requests.piece();
+        host.asked(why);
+        player.requestMoveAsync(
+                host.snapshot(),
+                mv -> host.onSim(() -> {
+                    if (!requests.answered(piece)) return;
+                    plannedNext = mv.next;
+                    host.steer(mv);
+                }),
+                err -> host.onSim(() -> {
+                    if (requests.failed(piece)) host.requestFailed(why, err);
+                })
+        );
+    }
+
+    // The previous reply may already cover this piece; play it without a round trip
+    private boolean followPlan() {
+        OpMove plan = plannedNext;
+        plannedNext = null;
+        if (plan == null || plan.expect == null
+                || !Arrays.equals(plan.expect, AIPlayer.columnHeights(host.snapshot().cells))) return false;
+        plannedNext = plan.next;
+        requests.planned();
+        if (net != null) net.metrics().onPlannedMove();
+        host.steer(plan);
+        return true;
+    }
+}
@@ -1,37 +1,81 @@
 package tetris.controller;
 
+import java.io.IOException;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.function.Consumer;
 import javafx.application.Platform;
 import tetris.model.dto.OpMove;
 import tetris.model.dto.PureGame;
+import tetris.model.service.SessionMetrics;
 
 public class ExternalPlayer implements Player, NetworkListener {
     private final INetwork net;
-    private Consumer<OpMove> onReady;
-    private Consumer<Throwable> onError;
+    // Replies come back in request order, so each one settles the oldest request; a late
+    // answer for an earlier piece can never be handed to a newer one
+    private final Deque<Request> pending = new ConcurrentLinkedDeque<>();
+    private Runnable onLost;
+    private Runnable onRecovered;
+
+    private long sent;                                    // numbers requests as the network does
+
+    private record Request(long seq, Consumer<OpMove> onReady, Consumer<Throwable> onError, long requestedAt) {}
 
     public ExternalPlayer(INetwork net) {
         this.net = net;
         net.setListener(this);
     }
 
+    public SessionMetrics metrics() { return net.metrics(); }
+
+    // Both run on the FX thread; the network reports each outage once
+    public void setConnectionCallbacks(Runnable onLost, Runnable onRecovered) {
+        this.onLost = onLost;
+        this.onRecovered = onRecovered;
+    }
+
     @Override
-    public void requestMoveAsync(PureGame game,
-                                 Consumer<OpMove> onReady,
-                                 Consumer<Throwable> onError) {
-        this.onReady = onReady;
-        this.onError = onError;
+    public synchronized void requestMoveAsync(PureGame game,
+                                              Consumer<OpMove> onReady,
+                                              Consumer<Throwable> onError) {
+        pending.add(new Request(++sent, onReady, onError, System.nanoTime()));
         net.sendGameAsync(game);
     }
 
     @Override public void onMoveReceived(OpMove move) {
-        if (onReady != null) Platform.runLater(() -> onReady.accept(move));
+        Request r = pending.poll();
+        if (r != null) Platform.runLater(() -> {
+            net.metrics().requestToMove().record(System.nanoTime() - r.requestedAt());
+            r.onReady().accept(move);
+        });
     }
 
     @Override public void onProtocolError(String msg, Throwable t) {
-        if (onError != null) Platform.runLater(() -> onError.accept(t));
+        Request r = pending.poll();
+        if (r != null) Platform.runLater(() -> r.onError().accept(t));
     }
 
-    @Override public void onConnectionLost()      { }
-    @Override public void onConnectionRecovered() { }
+    // Fails the request that was not sent, which need not be the oldest (a hedge may have
+    // left earlier ones waiting)
+    @Override public void onSendFailed(long seq, String msg, Throwable t) {
+        for (Request r : pending) {
+            if (r.seq() != seq) continue;
+            if (pending.remove(r)) Platform.runLater(() -> r.onError().accept(t));
+            return;
+        }
+    }
+
+    @Override public void onConnectionLost() {
+        Request r;
+        while ((r = pending.poll()) != null) {
+            Request failed = r;
+            Platform.runLater(() -> failed.onError().accept(new IOException("connection lost")));
+        }
+        Platform.runLater(() -> { if (onLost != null) onLost.run(); });
+    }
+    // Callbacks are looked up on the FX thread, so an attach finishing while enableExternal()
+    // is still wiring them up is not lost
+    @Override public void onConnectionRecovered() {
+        Platform.runLater(() -> { if (onRecovered != null) onRecovered.run(); });
+    }
 }
@@ -1,97 +1,322 @@
 package tetris.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import tetris.model.dto.OpMove;
 import tetris.model.dto.PureGame;
+import tetris.model.service.NetworkMetrics;
+import tetris.model.service.SessionMetrics;
 
 import java.io.*;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+// Long-lived session to one external player. A server that hangs up once every request is
+// answered (TetrisServer.jar does this) is reconnected lazily on the next send; any other
+// loss is reported once and retried in the background with jittered backoff behind a
+// circuit breaker. Requests lost with a connection are dropped; the game asks again
+// for its current piece once onConnectionRecovered fires.
 public class ExternalPlayerClient implements INetwork {
-    private final String host; private final int port;
-    private final ExecutorService io = Executors.newSingleThreadExecutor();
-    private final ObjectMapper mapper = new ObjectMapper();
-
-    private volatile boolean running;
-    private Socket socket;
-    private PrintWriter out;
-    private BufferedReader in;
+    private final SocketAddress address;
+    private final String name;                       // host:port, or unix:path
+    private final ExecutorService io;                 // one virtual writer keeps sends ordered
+    private final SnapshotCodec codec = new SnapshotCodec(); // owned by the io thread
+    private final SessionMetrics metrics;
+    private final SendTimes inFlight = new SendTimes(); // replies arrive in request order
+
+    private final Backoff backoff;
+    private final CircuitBreaker breaker;
+    private long heartbeatMillis = 0;                 // 0 = no in-band heartbeats
+    private ScheduledFuture<?> heartbeat;
+    private ScheduledFuture<?> retry;
+    private final AtomicBoolean retryPending = new AtomicBoolean(false);
+    private final AtomicBoolean outage = new AtomicBoolean(false);
+    private final AtomicLong pingSeq = new AtomicLong();
+    private final AtomicLong sends = new AtomicLong();      // numbers requests for onSendFailed
+    private volatile long lastHeardNanos;
+    private volatile long pingSentNanos;              // 0 when no ping is outstanding
+
+    private volatile boolean closed;
+    private volatile Link link;
     private NetworkListener listener;
 
-    private ExecutorService readerExec; // for the read loop
+    // One stream connection (TCP or Unix domain); replaced wholesale on reconnect.
+    // Reads and writes go straight to the channel, which locks each direction separately.
+    private static final class Link {
+        final SocketChannel ch; final OutputStream out; final LineReader in;
+        Link(SocketChannel ch) throws IOException {
+            this.ch = ch;
+            if (ch.getRemoteAddress() instanceof InetSocketAddress) {
+                ch.setOption(StandardSocketOptions.TCP_NODELAY, true); // one small frame per request
+            }
+            out = new OutputStream() {
+                @Override public void write(int b) throws IOException { write(new byte[]{(byte) b}, 0, 1); }
+                @Override public void write(byte[] b, int off, int len) throws IOException {
+                    ByteBuffer buf = ByteBuffer.wrap(b, off, len);
+                    while (buf.hasRemaining()) ch.write(buf);
+                }
+            };
+            in = new LineReader(new InputStream() {
+                @Override public int read() throws IOException {
+                    byte[] one = new byte[1];
+                    return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+                }
+                @Override public int read(byte[] b, int off, int len) throws IOException {
+                    return ch.read(ByteBuffer.wrap(b, off, len));
+                }
+            });
+        }
+        boolean isOpen() { return ch.isOpen() && ch.isConnected(); }
+        void close() { try { ch.close(); } catch (IOException ignored) {} }
+    }
 
     public ExternalPlayerClient(String host, int port) {
-        this.host = host; this.port = port;
+        this(host, port, 100, 5_000, 5, 10_000);
+    }
+
+    public ExternalPlayerClient(String host, int port,
+                                long reconnectBaseMillis, long reconnectMaxMillis,
+                                int breakerThreshold, long breakerCooldownMillis) {
+        this(InetSocketAddress.createUnresolved(host, port), host + ":" + port,
+                reconnectBaseMillis, reconnectMaxMillis, breakerThreshold, breakerCooldownMillis);
+    }
+
+    // Any stream address SocketChannel can reach; `name` keys the session's metrics
+    protected ExternalPlayerClient(SocketAddress address, String name,
+                                   long reconnectBaseMillis, long reconnectMaxMillis,
+                                   int breakerThreshold, long breakerCooldownMillis) {
+        this.address = address;
+        this.name = name;
+        this.io = NetThreads.serial("ext-io-" + name);
+        this.metrics = NetworkMetrics.session(name);
+        this.backoff = new Backoff(reconnectBaseMillis, reconnectMaxMillis);
+        this.breaker = new CircuitBreaker(breakerThreshold, breakerCooldownMillis);
+    }
+
+    // Ping the peer on the live connection when it has been quiet for this long
+    public void setHeartbeatMillis(long millis) {
+        this.heartbeatMillis = Math.max(0, millis);
     }
 
     @Override
     public void connect() {
-        try {
-            socket = new Socket(host, port);
-            out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream()), true); // auto-flush
-            in  = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            running = true;
-            System.out.println("[client] connected to " + host + ":" + port);
+        closed = false;
+        if (open()) {
             if (listener != null) listener.onConnectionRecovered();
+        } else {
+            connectionFailed();
+        }
+        if (heartbeatMillis > 0 && heartbeat == null) {
+            heartbeat = NetThreads.every("ext-heartbeat-" + name,
+                    heartbeatMillis, TimeUnit.MILLISECONDS, this::heartbeatTick);
+        }
+    }
 
-            readerExec = Executors.newSingleThreadExecutor();
-            readerExec.submit(this::readLoop);
-
-        } catch (IOException e) {
+    private synchronized boolean open() {
+        if (link != null && link.isOpen()) return true;
+        try {
+            Link l = new Link(SocketChannel.open(resolved()));
+            link = l;
+            lastHeardNanos = System.nanoTime();
+            pingSentNanos = 0;
+            metrics.onConnected();
+            System.out.println("[client] connected to " + name);
+            NetThreads.start("ext-read-" + name, () -> readLoop(l));
+            return true;
+        } catch (IOException | UnresolvedAddressException e) {
+            metrics.onConnectFailed();
             System.out.println("[client] connect failed: " + e);
-            if (listener != null) listener.onConnectionLost();
+            return false;
         }
     }
 
-    private void readLoop() {
+    // Host names are looked up on every connect, as new Socket(host, port) did
+    private SocketAddress resolved() {
+        if (address instanceof InetSocketAddress a && a.isUnresolved()) return new InetSocketAddress(a.getHostString(), a.getPort());
+        return address;
+    }
+
+    private void readLoop(Link l) {
+        boolean clean = false;
         try {
-            String line;
-            while (running && (line = in.readLine()) != null) {
-                System.out.println("[client] <- " + line);
-                OpMove mv = mapper.readValue(line, OpMove.class);
+            int n;
+            while (!closed && (n = l.in.next()) >= 0) {
+                lastHeardNanos = System.nanoTime();
+                metrics.onReceived(n + 1);
+                OpMove mv = new OpMove(); // handed to the game, so one per reply
+                int kind;
+                try {
+                    kind = SnapshotCodec.decode(l.in.array(), l.in.lineStart(), n, mv);
+                } catch (IllegalArgumentException e) {
+                    inFlight.poll();
+                    metrics.onProtocolError();
+                    if (listener != null) listener.onProtocolError(
+                            "bad reply: " + new String(l.in.array(), l.in.lineStart(), n, StandardCharsets.UTF_8), e);
+                    continue;
+                }
+                breaker.onSuccess();
+                if (kind == SnapshotCodec.PONG) {
+                    pingSentNanos = 0;
+                    continue;
+                }
+                long sentAt = inFlight.poll();
+                if (sentAt != 0) metrics.roundTrip().record(System.nanoTime() - sentAt);
+                backoff.reset();
+                metrics.onMove();
                 if (listener != null) listener.onMoveReceived(mv);
             }
+            // Peer hung up; harmless if nothing was waiting on it
+            clean = inFlight.isEmpty() && pingSentNanos == 0;
         } catch (IOException e) {
             System.out.println("[client] read loop ended: " + e);
-            if (listener != null) listener.onConnectionLost();
         } finally {
-            closeQuietly();
+            l.close();
+            inFlight.clear();
+            pingSentNanos = 0;
+            if (!closed && !clean && link == l) connectionFailed();
+        }
+    }
+
+    // Report the outage once, then keep retrying in the background
+    private void connectionFailed() {
+        breaker.onFailure();
+        if (outage.compareAndSet(false, true) && listener != null) listener.onConnectionLost();
+        scheduleRetry();
+    }
+
+    private synchronized void scheduleRetry() {
+        if (closed || !retryPending.compareAndSet(false, true)) return;
+        long delay = Math.max(backoff.nextDelayMillis(), breaker.remainingCooldownMillis());
+        retry = NetThreads.after("ext-retry-" + name, delay, TimeUnit.MILLISECONDS, this::retryNow);
+    }
+
+    private void retryNow() {
+        retryPending.set(false);
+        if (closed) return;
+        if (!breaker.allowRequest()) {
+            scheduleRetry(); // still cooling down
+            return;
+        }
+        if (!open()) {
+            connectionFailed();
+            return;
+        }
+        if (outage.compareAndSet(true, false) && listener != null) listener.onConnectionRecovered();
+    }
+
+    private void heartbeatTick() {
+        Link l = link;
+        if (closed || l == null || !l.isOpen()) return;
+        long now = System.nanoTime();
+        long quiet = now - lastHeardNanos;
+        boolean waiting = pingSentNanos != 0 || !inFlight.isEmpty();
+        if (waiting && quiet > TimeUnit.MILLISECONDS.toNanos(3 * heartbeatMillis)) {
+            System.out.println("[client] heartbeat timeout; dropping connection");
+            l.close(); // reader fails and takes the reconnect path
+        } else if (!waiting && quiet > TimeUnit.MILLISECONDS.toNanos(heartbeatMillis)) {
+            boolean queued = submit(() -> {
+                pingSentNanos = System.nanoTime();
+                writeFrame(codec.encodePing(pingSeq.incrementAndGet()));
+            });
+            if (!queued) System.out.println("[client] session closed; dropping ping");
         }
     }
 
     @Override
     public void sendGameAsync(PureGame game) {
-        io.submit(() -> {
-            try {
-                if (out == null) {
-                    System.out.println("[client] out is null; dropping snapshot");
-                    return;
-                }
-                String payload = mapper.writeValueAsString(game);
-                System.out.println("[client] -> " + payload);
-                out.println(payload);
-            } catch (Exception e) {
-                if (listener != null) listener.onProtocolError("send failed", e);
+        long seq = sends.incrementAndGet();
+        if (!submit(() -> writeSnapshot(game, seq))) {
+            System.out.println("[client] session closed; dropping snapshot");
+            if (listener != null) listener.onSendFailed(seq, "session closed", new IOException("session closed"));
+        }
+    }
+
+    // False once the session is closed
+    private boolean submit(Runnable task) {
+        try {
+            io.submit(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private void writeSnapshot(PureGame game, long seq) {
+        boolean timed = false;
+        try {
+            if ((link == null || !link.isOpen()) && !reopen()) {
+                System.out.println("[client] not connected; dropping snapshot");
+                if (listener != null) listener.onSendFailed(seq, "not connected", new IOException("not connected"));
+                return;
             }
-        });
+            long t0 = System.nanoTime();
+            int n = codec.encode(game);
+            metrics.serialize().record(System.nanoTime() - t0);
+            inFlight.add(System.nanoTime());
+            timed = true;
+            writeFrame(n);
+            metrics.onSent(n);
+        } catch (Exception e) {
+            if (timed) inFlight.dropLast();
+            metrics.onProtocolError();
+            if (listener != null) listener.onSendFailed(seq, "send failed", e);
+        }
+    }
+
+    // Lazy reconnect for servers that close after every reply; not while an outage is being retried
+    private boolean reopen() {
+        if (outage.get() || !breaker.allowRequest()) return false;
+        if (open()) return true;
+        connectionFailed();
+        return false;
+    }
+
+    // Writes the codec's buffer in one call; a broken socket surfaces through the reader
+    private void writeFrame(int n) {
+        Link l = link;
+        if (l == null) return;
+        try {
+            l.out.write(codec.array(), 0, n);
+        } catch (IOException e) {
+            System.out.println("[client] write failed: " + e);
+            l.close();
+        }
     }
 
+    // Closing the socket unblocks the reader; every thread of the session ends here
     @Override
     public void disconnect() {
-        running = false;
-        closeQuietly();
-        if (readerExec != null) readerExec.shutdownNow();
+        closed = true;
+        synchronized (this) {
+            if (retry != null) retry.cancel(false);
+            if (heartbeat != null) heartbeat.cancel(false);
+            retry = null; heartbeat = null;
+        }
+        Link l = link;
+        if (l != null) l.close();
         io.shutdownNow();
+        NetworkMetrics.release(metrics);
     }
 
     @Override public boolean isConnected() {
-        return socket != null && socket.isConnected() && !socket.isClosed();
+        Link l = link;
+        return l != null && l.isOpen();
     }
-    @Override public void setListener(NetworkListener l) { this.listener = l; }
 
-    private void closeQuietly() {
-        try { if (socket != null) socket.close(); } catch (IOException ignored) {}
+    // Connected, or able to reconnect on the next send
+    @Override public boolean isAvailable() {
+        return !closed && (isConnected() || (!outage.get() && breaker.state() == CircuitBreaker.State.CLOSED));
     }
+
+    @Override public void setListener(NetworkListener l) { this.listener = l; }
+    @Override public SessionMetrics metrics() { return metrics; }
 }
@@ -0,0 +1,95 @@
+package tetris.controller;
+
+import tetris.model.Board;
+import tetris.model.piece.ActivePiece;
+
+// Per-piece request state for an external player, so a piece never has more than one
+// request outstanding and a late reply can never steer a newer piece.
+//   IDLE -> IN_FLIGHT -> ANSWERED | FAILED;  FAILED -> IN_FLIGHT only when retrying
+// Confined to the "game-sim" thread (GameClock), like the game state it guards; callbacks
+// reach it through the pane's onSim() inbox. summary() is read once the board has left the clock.
+public final class ExternalRequestTracker {
+    public enum State { IDLE, IN_FLIGHT, ANSWERED, FAILED }
+
+    private long piece;
+    private State state = State.IDLE;
+    private boolean turnedAway;                     // this piece already counted in `suppressed`
+    private long pieces, requests, suppressed, answered, failed, stale, planned;
+
+    // A new piece is in play; returns its id for the reply callbacks
+    public long newPiece() {
+        piece++;
+        pieces++;
+        state = State.IDLE;
+        turnedAway = false;
+        return piece;
+    }
+
+    public long piece()   { return piece; }
+    public State state()  { return state; }
+
+    // Whether begin() would let a request out now; counts nothing, so a tick may poll it
+    public boolean mayAsk(boolean retry) {
+        return state == State.IDLE || (retry && state == State.FAILED);
+    }
+
+    // True if a request may go out for the current piece now. `suppressed` counts pieces that
+    // had a duplicate ask turned away, not every ask.
+    public boolean begin(boolean retry) {
+        if (mayAsk(retry)) {
+            state = State.IN_FLIGHT;
+            requests++;
+            return true;
+        }
+        if (!turnedAway) {
+            turnedAway = true;
+            suppressed++;
+        }
+        return false;
+    }
+
+    // False for a reply to an older piece, which must be dropped
+    public boolean answered(long forPiece) {
+        if (forPiece != piece || state != State.IN_FLIGHT) {
+            stale++;
+            return false;
+        }
+        state = State.ANSWERED;
+        answered++;
+        return true;
+    }
+
+    public boolean failed(long forPiece) {
+        if (forPiece != piece || state != State.IN_FLIGHT) return false;
+        state = State.FAILED;
+        failed++;
+        return true;
+    }
+
+    // Move came from an earlier reply's plan; nothing to ask
+    public void planned() {
+        state = State.ANSWERED;
+        planned++;
+    }
+
+    // Time `piece` can fall under gravity before a move would be too late to steer it in;
+    // steering takes a row per rotation or shift
+    public static long deadlineNanos(Board board, ActivePiece piece, long rowNanos) {
+        if (piece == null) return 0;
+        int steering = 3 + board.width() / 2;
+        return Math.max(0, board.dropDistance(piece) - steering) * rowNanos;
+    }
+
+    public long pieces()     { return pieces; }
+    public long requests()   { return requests; }
+    public long suppressed() { return suppressed; }
+    public long answered()   { return answered; }
+    public long failedCount() { return failed; }
+    public long stale()      { return stale; }
+    public long plannedCount() { return planned; }
+
+    public String summary() {
+        return String.format("pieces=%d requests=%d answered=%d failed=%d planned=%d suppressed=%d stale=%d",
+                pieces, requests, answered, failed, planned, suppressed, stale);
+    }
+}
@@ -0,0 +1,145 @@
+package tetris.controller;
+
+import javafx.animation.AnimationTimer;
+import tetris.model.service.LatencyHistogram;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+// One fixed-step clock for every board on screen, split over two threads:
+//   simulation - a dedicated thread spends wall time in whole STEP_NANOS steps, each advancing
+//                every engine by the same simulated time, so gravity does not depend on the
+//                refresh rate and versus boards stay in lock-step
+//   FX         - an AnimationTimer only asks each engine to render its newest published frame
+// A GC pause or a slow layout on the FX thread therefore no longer delays gravity or input.
+public final class GameClock {
+    public static final long STEP_NANOS = 10_000_000L;              // 100 simulation steps a second
+    private static final long MAX_CATCH_UP_NANOS = 250_000_000L;    // after a stall, drop the rest
+
+    public interface Engine {
+        // Simulation thread; simNanos grows by exactly the step size each call
+        void step(long simNanos);
+        // FX thread
+        void render();
+    }
+
+    // Gets one more render() once the step it left in is done, so its last frame (game over) shows
+    private record Leaver(Engine engine, long afterNanos) {}
+
+    private static GameClock shared;
+
+    private final long stepNanos;
+    private final boolean ownThreads;               // false: the caller drives advance() (tests)
+    private final List<Engine> engines = new CopyOnWriteArrayList<>();
+    private final List<Leaver> leaving = new CopyOnWriteArrayList<>();
+    private Thread sim;                              // started by the first add(), then kept for good
+    private AnimationTimer timer;
+    private boolean ticking;                         // timer started
+    private long lastPulse;                          // simulation thread from here on
+    private long accumulator;
+    private volatile long simNanos;
+    private volatile long doneNanos;                 // simNanos once every engine finished that step
+    private volatile long steps;
+    private final LatencyHistogram stepTimes = new LatencyHistogram();   // one step of every engine
+    private final LatencyHistogram frameGaps = new LatencyHistogram();   // between FX pulses
+    private long lastFrame;                                              // FX thread
+
+    GameClock(long stepNanos, boolean ownThreads) {
+        this.stepNanos = stepNanos;
+        this.ownThreads = ownThreads;
+    }
+
+    public static synchronized GameClock shared() {
+        if (shared == null) shared = new GameClock(STEP_NANOS, true);
+        return shared;
+    }
+
+    // FX thread, so the timer can be created
+    public synchronized void add(Engine e) {
+        if (engines.contains(e)) return;
+        engines.add(e);
+        if (!ownThreads) return;
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override public void handle(long now) {
+                    if (lastFrame != 0) frameGaps.record(now - lastFrame);
+                    lastFrame = now;
+                    renderAll();
+                }
+            };
+        }
+        if (!ticking) {
+            ticking = true;
+            lastFrame = 0;
+            timer.start();
+        }
+        if (sim == null) {
+            sim = new Thread(this::simLoop, "game-sim");   // parks between steps; keeps its timing
+            sim.setDaemon(true);
+            sim.start();
+        } else {
+            LockSupport.unpark(sim);
+        }
+    }
+
+    // Any thread; an engine may leave from inside its own step (game over)
+    public synchronized void remove(Engine e) {
+        if (!engines.remove(e)) return;
+        leaving.add(new Leaver(e, simNanos));        // the timer stops after the leavers' last frame
+    }
+
+    // One thread for the life of the process, so two can never step the engines at once.
+    // With no engines it parks until add() wakes it, and then starts timing afresh.
+    private void simLoop() {
+        while (true) {
+            if (engines.isEmpty()) {
+                lastPulse = 0;
+                accumulator = 0;
+                LockSupport.park(this);
+                continue;
+            }
+            advance(System.nanoTime());
+            LockSupport.parkNanos(stepNanos - accumulator);
+        }
+    }
+
+    // Runs the steps due by `now`; returns how many
+    int advance(long now) {
+        if (lastPulse != 0) accumulator += Math.min(now - lastPulse, MAX_CATCH_UP_NANOS);
+        lastPulse = now;
+        int n = 0;
+        while (accumulator >= stepNanos) {
+            accumulator -= stepNanos;
+            simNanos += stepNanos;
+            long t0 = System.nanoTime();
+            for (Engine e : engines) e.step(simNanos);   // a snapshot: leavers finish this step
+            stepTimes.record(System.nanoTime() - t0);
+            doneNanos = simNanos;
+            n++;
+        }
+        steps += n;
+        return n;
+    }
+
+    void renderAll() {
+        for (Engine e : engines) e.render();
+        for (Leaver l : leaving) {
+            if (doneNanos < l.afterNanos()) continue;  // still inside the step it left in
+            leaving.remove(l);
+            l.engine().render();
+        }
+        stopTimerIfIdle();
+    }
+
+    private synchronized void stopTimerIfIdle() {
+        if (ticking && engines.isEmpty() && leaving.isEmpty()) {
+            ticking = false;
+            timer.stop();
+        }
+    }
+
+    public long steps() { return steps; }
+    public LatencyHistogram stepTimes() { return stepTimes; }
+    public LatencyHistogram frameGaps() { return frameGaps; }
+}
@@ -1,30 +1,29 @@
 package tetris.controller;
 
-import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.geometry.VPos;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextInputDialog;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
-import javafx.scene.text.TextAlignment;
-import javafx.scene.media.Media;
-import javafx.scene.media.MediaPlayer;
-import java.net.URL;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import tetris.config.TetrisConfig;
 import tetris.model.Board;
 import tetris.model.TetrominoType;
 import tetris.model.Vec;
 import tetris.model.piece.ActivePiece;
+import tetris.server.SpectatorFeed;
+import tetris.view.BoardFrame;
+import tetris.view.BoardFrames;
+import tetris.view.BoardRenderer;
+import tetris.view.PerfHud;
 import tetris.model.rules.RotationStrategy;
 import tetris.model.rules.SrsRotation;
 import tetris.model.service.HighScoreManager;
@@ -46,23 +45,29 @@ public class GamePane extends BorderPane {
 
     private final java.util.Random rng = new java.util.Random();
     private final TetrisConfig config = TetrisConfig.getInstance();
-    private MediaPlayer beepPlayer;
     private Board board = new Board(config.getFieldWidth(),config.getFieldHeight()); // Main play field
     private ActivePiece current;   // Currently falling piece
     private Color currentColor;    // Current piece color
     private final RotationStrategy rotator = new SrsRotation();
-    private AnimationTimer timer;  // Main game loop
+    private GameClock.Engine engine;  // Main game loop, driven by the shared GameClock
+    private boolean started;          // startGame() ran; set-up calls and this stay on the FX thread
+    private final BoardFrames frames = new BoardFrames();         // simulation -> FX
+    private final Queue<Runnable> inbox = new ConcurrentLinkedQueue<>(); // FX -> simulation
+    private SpectatorFeed feed;    // Spectator stream, null when off
+    private int feedBoard;         // Our board id on the feed
+    private int[] feedCells;       // Reused frame buffer
+    private boolean feedBehind = true;  // board changed since the feed last got it
     private TetrominoType nextType; // Next piece type
     private Color nextColor;        // Next piece color
-    private Canvas boardCanvas;
     private Canvas nextCanvas;
+    private BoardRenderer renderer;
+    private PerfHud perfHud;
     private Label  scoreLabel;
     private boolean useExternal = false;
     private INetwork net;
-    private Player extPlayer;
     private boolean extControlsThisPiece = false;
     private boolean useAI = false;
-    private AIPlayer aiPlayer;
+    private Player aiPlayer;
     private boolean aiAnimating = false;
     private enum AiPhase { ROTATE, SHIFT, DROP }
     private AiPhase aiPhase;
@@ -71,7 +76,7 @@ public class GamePane extends BorderPane {
     private int aiRotateAttempts = 0;
     private int aiRotateMax = 12;
     private static final long BOOST_NANOS = 100_000_000L;
-    private boolean extLateJoinAsked = false;
+    private final ExternalMoveDriver extDriver = new ExternalMoveDriver(new ExternalSteering());
     private Label playerTypeLabel;
     private Label levelLabel;
     private Label linesLabel;
@@ -81,43 +86,6 @@ public class GamePane extends BorderPane {
     private GameState state;
     private String extHost = "localhost";
     private int    extPort = 3000;
-    private java.util.concurrent.ScheduledExecutorService extHealthExec;
-    private volatile boolean extServerUp = true;
-    private final java.util.concurrent.atomic.AtomicBoolean extOutageAlerted =
-            new java.util.concurrent.atomic.AtomicBoolean(false);
-
-    private void startExternalHealthMonitor(String host, int port) {
-        if (!useExternal) return;
-        stopExternalHealthMonitor();
-        extHealthExec = java.util.concurrent.Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "ext-health");
-            t.setDaemon(true);
-            return t;
-        });
-        extHealthExec.scheduleAtFixedRate(() -> {
-            boolean ok = pingExternal(host, port, 500); // Check external server
-            boolean wasUp = extServerUp;
-            extServerUp = ok;
-
-            if (!ok && wasUp) {
-                if (extOutageAlerted.compareAndSet(false, true)) {
-                    notifyExternalIssue("External server not responding to health check.");
-                }
-            } else if (ok && !wasUp) {
-                extOutageAlerted.set(false);
-                try {
-                    reconnectAndLateJoin(); // Try reconnecting
-                } catch (Exception ignored) {}
-            }
-        }, 0, 1, java.util.concurrent.TimeUnit.SECONDS);
-    }
-
-    private void stopExternalHealthMonitor() {
-        if (extHealthExec != null) {
-            extHealthExec.shutdownNow();
-            extHealthExec = null;
-        }
-    }
 
     private void notifyExternalIssue(String message) {
         if (!useExternal) return;
@@ -132,15 +100,6 @@ public class GamePane extends BorderPane {
         });
     }
 
-    private boolean pingExternal(String host, int port, int timeoutMs) {
-        try (java.net.Socket s = new java.net.Socket()) {
-            s.connect(new java.net.InetSocketAddress(host, port), timeoutMs);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
     public interface GameOverWatcher {
         void onHighScoreDialogShown(GamePane who);
         void onHighScoreDialogClosed(GamePane who);
@@ -173,14 +132,7 @@ public class GamePane extends BorderPane {
         @Override public void onExit() {}
         @Override public void onTick(long now) {
             applyAutoBoostIfNeeded();
-            if (useExternal
-                    && net != null && net.isConnected()
-                    && current != null && !gameOver
-                    && !extControlsThisPiece
-                    && !aiAnimating
-                    && !extLateJoinAsked) {
-                requestExternalForCurrent();
-            }
+            if (useExternal) extDriver.askIfIdle();
 
             if (lastDropTime == 0) {
                 lastDropTime = now;
@@ -191,9 +143,9 @@ public class GamePane extends BorderPane {
 
                 boolean fell = tryBoost();
                 if (!fell) {
-                    lockPiece();
-                    aiAnimating = false;
+                    aiAnimating = false;            // before the spawn, which may start a planned move
                     extControlsThisPiece = false;
+                    lockPiece();
                 }
                 lastDropTime = now;
             }
@@ -211,19 +163,19 @@ public class GamePane extends BorderPane {
         }
     }
 
-    // Game over state: stops timer and shows score input dialog
+    // Game over state: leaves the clock and shows score input dialog
     private class GameOverState implements GameState {
         @Override public void onEnter() {
             gameOver = true;
-            if (timer != null) timer.stop();
-            playSound("/sounds/game-finish.wav");
-
-            if (gameOverWatcher != null) {
-                gameOverWatcher.onGameOverReached(GamePane.this);
-                gameOverWatcher.onHighScoreDialogShown(GamePane.this);
-            }
+            if (engine != null) GameClock.shared().remove(engine);
+            SoundService.play(SoundService.GAME_FINISH);
 
             Platform.runLater(() -> {
+                if (gameOverWatcher != null) {
+                    gameOverWatcher.onGameOverReached(GamePane.this);
+                    gameOverWatcher.onHighScoreDialogShown(GamePane.this);
+                }
+
                 TextInputDialog dialog = new TextInputDialog("Player");
                 dialog.setTitle("Game Over");
                 dialog.setHeaderText("Your Score: " + score);
@@ -255,30 +207,32 @@ public class GamePane extends BorderPane {
         @Override public void onTick(long now) {}
     }
 
+    // Called from the FX thread; the game runs on the simulation thread, which picks these up
+    // at its next step
+    private void onSim(Runnable r) { inbox.add(r); }
+
     public void pause() {
-        if (!gameOver && !(state instanceof PausedState)) {
-            setState(new PausedState());
-        }
+        onSim(() -> {
+            if (!gameOver && !(state instanceof PausedState)) setState(new PausedState());
+        });
     }
 
     public void resume() {
-        if (!gameOver && (state instanceof PausedState)) {
-            setState(new RunningState());
-        }
+        onSim(() -> {
+            if (!gameOver && (state instanceof PausedState)) setState(new RunningState());
+        });
     }
 
-    public void pauseForMenu() {
-        if (!gameOver) pause();
-    }
+    public void pauseForMenu() { pause(); }
 
-    public void resumeFromMenu() {
-        if (!gameOver) resume();
-    }
+    public void resumeFromMenu() { resume(); }
 
     public void pauseToggle() {
-        if (gameOver) return;
-        if (state instanceof PausedState) setState(new RunningState());
-        else setState(new PausedState());
+        onSim(() -> {
+            if (gameOver) return;
+            if (state instanceof PausedState) setState(new RunningState());
+            else setState(new PausedState());
+        });
     }
 
     private long baseDropSpeed() {
@@ -297,9 +251,15 @@ public class GamePane extends BorderPane {
         }
     }
 
+    public void togglePerfHud() { if (perfHud != null) perfHud.toggle(); }
+
     public void enableAI(tetris.model.ai.Heuristic h) {
+        enableAI(new AIPlayer(h));
+    }
+
+    public void enableAI(Player bot) {
         useAI = true;
-        aiPlayer = new AIPlayer(h);
+        aiPlayer = bot;
         applyAutoBoostIfNeeded();
         if (playerTypeLabel != null) playerTypeLabel.setText("Player: " + currentPlayerType());
     }
@@ -310,10 +270,13 @@ public class GamePane extends BorderPane {
         return "Human";
     }
 
+    // After the set-up calls (seed, AI, external); from here on the simulation thread owns the game
     public void startGame() {
         resetGameState();
         spawnNewPiece();
         setState(new RunningState());
+        started = true;
+        GameClock.shared().add(engine);
     }
 
     //ai will run on step at a time
@@ -376,10 +339,11 @@ public class GamePane extends BorderPane {
         topBar.setAlignment(Pos.CENTER);
         topBar.setPadding(new Insets(10));
 
-        boardCanvas = new Canvas(board.width() * cellSize, board.height() * cellSize);
-        boardCanvas.setStyle("-fx-border-color: gray; -fx-border-width: 2px;");
-
         nextCanvas = new Canvas(6 * cellSize, 6 * cellSize);
+        renderer = BoardRenderer.create(config.getBoardRenderer(), board.width(), board.height(), cellSize, nextCanvas);
+        renderer.preload(colourOptions);
+        perfHud = new PerfHud(renderer).watch(() -> aiPlayer instanceof AIPlayer ai ? ai.thinkTimes() : null,
+                () -> net == null ? null : net.metrics());
 
         playerTypeLabel = new Label("Player: " + currentPlayerType());
         playerTypeLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold;");
@@ -419,51 +383,60 @@ public class GamePane extends BorderPane {
         rightBar.setStyle("-fx-background-color: #fafafa;");
 
         setTop(topBar);
-        setCenter(boardCanvas);
+        setCenter(new StackPane(renderer.node(), perfHud.node()));
         setRight(rightBar);
         setStyle("-fx-background-color: #f9f9f9;");
 
-        URL soundUrl = getClass().getResource("/sounds/erase-line.wav");
-        if (soundUrl != null) {
-            Media beep = new Media(soundUrl.toExternalForm());
-            beepPlayer = new MediaPlayer(beep);
-            beepPlayer.setOnEndOfMedia(() -> beepPlayer.stop());
-        }
+        SoundService.preloadAll();
         resetGameState();
         spawnNewPiece();
         setState(new RunningState());
 
-        timer = new AnimationTimer() {
-            @Override public void handle(long now) {
-                if (state != null) state.onTick(now);
-                draw(boardCanvas.getGraphicsContext2D());
+        engine = new GameClock.Engine() {
+            @Override public void step(long simNanos) {
+                for (Runnable r; (r = inbox.poll()) != null; ) r.run();
+                if (state != null) state.onTick(simNanos);
+                publishToSpectators(frames.publish(board, current, currentColor, nextType, nextColor,
+                        paused, gameOver, score, linesCleared));
+            }
+            @Override public void render() {
+                draw();
             }
         };
-        timer.start();
+        feed = SpectatorFeed.shared();
+        if (feed != null) feedBoard = feed.openBoard();
     }
 
     public void tryMoveLeft()  {
-        if (!gameOver && !(state instanceof PausedState) && !extControlsThisPiece) {
-            if (move(-1, 0) && config.isSoundEffect()) playMoveTurn();
-        }
+        onSim(() -> {
+            if (!gameOver && !(state instanceof PausedState) && !extControlsThisPiece) {
+                if (move(-1, 0) && config.isSoundEffect()) playMoveTurn();
+            }
+        });
     }
     public void tryMoveRight() {
-        if (!gameOver && !(state instanceof PausedState) && !extControlsThisPiece) {
-            if (move(+1, 0) && config.isSoundEffect()) playMoveTurn();
-        }
+        onSim(() -> {
+            if (!gameOver && !(state instanceof PausedState) && !extControlsThisPiece) {
+                if (move(+1, 0) && config.isSoundEffect()) playMoveTurn();
+            }
+        });
     }
-    private void playMoveTurn() { playSound("/sounds/move-turn.wav"); }
+    private void playMoveTurn() { SoundService.play(SoundService.MOVE_TURN); }
 
     public void tryRotate() {
-        if (!gameOver && !(state instanceof PausedState) && !extControlsThisPiece) {
-            boolean ok = rotator.tryRotateCW(current, board);
-            if (ok && config.isSoundEffect()) playMoveTurn();
-        }
+        onSim(() -> {
+            if (!gameOver && !(state instanceof PausedState) && !extControlsThisPiece) {
+                boolean ok = rotator.tryRotateCW(current, board);
+                if (ok && config.isSoundEffect()) playMoveTurn();
+            }
+        });
     }
 
     public void boost(boolean pressed) {
-        humanBoosting = pressed;
-        applyAutoBoostIfNeeded();
+        onSim(() -> {
+            humanBoosting = pressed;
+            applyAutoBoostIfNeeded();
+        });
     }
 
     //set a specific seed for both boards to be identical
@@ -474,89 +447,71 @@ public class GamePane extends BorderPane {
         useExternal = true;
         this.extHost = host;
         this.extPort = port;
-        startExternalHealthMonitor(host, port);
         if (playerTypeLabel != null) playerTypeLabel.setText("Player: " + currentPlayerType());
 
-        net = new ExternalPlayerClient(host, port);
-        extPlayer = new ExternalPlayer(net);
         try {
+            net = PlayerFactory.newNetwork(host, port);
+            ExternalPlayer ext = new ExternalPlayer(net);
+            extDriver.attach(PlayerFactory.withFallback(ext, this::externalDeadlineNanos), net);
             net.connect();
-            if (!net.isConnected()) {
+            if (!net.isConnected() && !net.isAttaching()) {
                 throw new IllegalStateException("External player not reachable at " + host + ":" + port);
             }
+            ext.setConnectionCallbacks(
+                    () -> notifyExternalIssue("Lost connection to the external player at " + extHost + ":" + extPort + ". Reconnecting in the background."),
+                    () -> onSim(() -> extDriver.ask(ExternalMoveDriver.Ask.RECOVERY)));
             applyAutoBoostIfNeeded();
 
-            if (current != null && !gameOver) {
-                var snap = snapshot();
-                extPlayer.requestMoveAsync(
-                        snap,
-                        mv -> Platform.runLater(() -> {
-                            aiRotLeft = mv.opRotate & 3;
-                            aiTargetX = mv.opX;
-                            aiPhase = AiPhase.ROTATE;
-                            aiAnimating = true;
-                            extControlsThisPiece = true;
-                            dropSpeed = BOOST_NANOS;
-                            lastDropTime = 0L;
-                            System.out.println("[EXT] plan (late join): rotate=" + aiRotLeft + " targetLeft=" + aiTargetX);
-                            doOneAiStep();
-                        }),
-                        err -> Platform.runLater(() -> {
-                            System.err.println("[EXT] request failed (late join): " + err.getMessage());
-                        })
-                );
-            }
+            // Before startGame() the first spawn asks anyway; once running, the sim thread owns the piece
+            if (started) onSim(() -> extDriver.ask(ExternalMoveDriver.Ask.LATE_JOIN));
         } catch (Exception e) {
             if (net != null) {
                 try { net.disconnect(); } catch (Exception ignore) {}
             }
             net = null;
+            extDriver.detach();
+            useExternal = false;
+            if (playerTypeLabel != null) playerTypeLabel.setText("Player: " + currentPlayerType());
             throw e;
         }
     }
 
-    //Try to reconnect external server
-    private void reconnectAndLateJoin() {
-        if (!useExternal || gameOver || current == null || extControlsThisPiece) return;
+    // Plays the external player's moves on this board's piece
+    private class ExternalSteering implements ExternalMoveDriver.Host {
+        @Override public boolean pieceInPlay() { return current != null && !gameOver; }
+        @Override public boolean steering() { return extControlsThisPiece; }
+        @Override public tetris.model.dto.PureGame snapshot() { return GamePane.this.snapshot(); }
+        @Override public void onSim(Runnable r) { GamePane.this.onSim(r); }
 
-        try {
-            net = new ExternalPlayerClient(extHost, extPort);
-            net.connect();
-            if (!net.isConnected()) {
-                notifyExternalIssue("External server is reachable again, but connection failed.");
-                return;
-            }
-            extPlayer = new ExternalPlayer(net);
-
-            var snap = snapshot();
-            extLateJoinAsked = true;
+        @Override public void steer(tetris.model.dto.OpMove mv) {
+            aiRotLeft = mv.opRotate & 3;
+            aiTargetX = mv.opX;
+            aiPhase = AiPhase.ROTATE;
+            aiAnimating = true;
+            extControlsThisPiece = true;
+            lastDropTime = 0L;
+            applyAutoBoostIfNeeded();
+            System.out.println("[EXT] plan: rotate=" + aiRotLeft + " targetLeft=" + aiTargetX);
+        }
 
-            extPlayer.requestMoveAsync(
-                    snap,
-                    mv -> javafx.application.Platform.runLater(() -> {
-                        aiRotLeft = (mv.opRotate & 3);
-                        aiTargetX = mv.opX;
-                        aiPhase   = AiPhase.ROTATE;
-                        aiAnimating = true;
-                        extControlsThisPiece = true;
-                        dropSpeed = BOOST_NANOS;
-                        lastDropTime = 0L;
-                    }),
-                    err -> javafx.application.Platform.runLater(() -> {
-                        notifyExternalIssue("External move request failed after recovery: " + err.getMessage());
-                        extLateJoinAsked = false;
-                    })
-            );
-        } catch (Exception e) {
-            notifyExternalIssue("Reconnection failed: " + e.getClass().getSimpleName() +
-                    (e.getMessage() != null ? (": " + e.getMessage()) : ""));
+        @Override public void requestFailed(ExternalMoveDriver.Ask why, Throwable err) {
+            if (why == ExternalMoveDriver.Ask.RECOVERY) notifyExternalIssue("External move request failed after recovery: " + err.getMessage());
+            else System.err.println("[EXT] request failed: " + err.getMessage());
         }
     }
 
     public void dispose() {
-        if (timer != null) timer.stop();
-        startExternalHealthMonitor("localhost", 3000);
-        if (net != null) { net.disconnect(); net = null; extPlayer = null; }
+        if (engine != null) GameClock.shared().remove(engine);
+        if (renderer != null) System.out.println("[render] " + renderer.frameReport());
+        if (perfHud != null) perfHud.hide();
+        if (feed != null) { feed.closeBoard(feedBoard); feed = null; }
+        if (net != null) {
+            net.disconnect();
+            if (useExternal) System.out.println("[EXT] session: " + net.metrics().summary());
+            net = null;
+            extDriver.detach();
+        }
+        if (useExternal) System.out.println("[EXT] requests: " + extDriver.requests().summary());
     }
 
     private void resetGameState() {
@@ -566,16 +521,12 @@ public class GamePane extends BorderPane {
         if (levelLabel != null) levelLabel.setText("Level: " + config.getGameLevel());
 
         board = new Board(config.getFieldWidth(), config.getFieldHeight());
+        extDriver.reset();
         score = 0; gameOver = false; paused = false;
         lastDropTime = 0L; dropSpeed = baseDropSpeed();
         if (scoreLabel != null) scoreLabel.setText("Score: 0");
         nextType  = randomType();
         nextColor = randomColor();
-
-        if (boardCanvas != null) {
-            boardCanvas.setWidth(board.width() * cellSize);
-            boardCanvas.setHeight(board.height() * cellSize);
-        }
     }
 
     private void spawnNewPiece() {
@@ -587,7 +538,6 @@ public class GamePane extends BorderPane {
         aiAnimating = false;
         extControlsThisPiece = false;
         aiRotateAttempts = 0;
-        boolean requested = false;
 
         Vec[] base = type.offsets();
         int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
@@ -609,57 +559,14 @@ public class GamePane extends BorderPane {
             }
         }
 
-        if (useExternal) {
-            try {
-                if (net != null) {
-                    try { net.disconnect(); } catch (Exception ignored) {}
-                }
-
-                String host = "localhost";
-                int port = 3000;
-
-                net = new ExternalPlayerClient(host, port);
-                net.connect();
-                extPlayer = new ExternalPlayer(net);
-
-                if (net.isConnected()) {
-                    requested = true;
-                    applyAutoBoostIfNeeded();
-                    var snap = snapshot();
-
-                    extPlayer.requestMoveAsync(
-                            snap,
-                            mv -> {
-                                int r = mv.opRotate & 3;
-                                aiRotLeft = r;
-                                aiTargetX = mv.opX;
-                                aiPhase = AiPhase.ROTATE;
-                                aiAnimating = true;
-                                extControlsThisPiece = true;
-                                lastDropTime = 0L;
-                                System.out.println("[EXT] plan: rotate=" + aiRotLeft + " targetLeft=" + aiTargetX);
-                            },
-                            err -> {
-                                System.err.println("[EXT] request failed: " + err.getMessage());
-                            }
-                    );
-                } else {
-                    System.err.println("[EXT] Failed to reconnect to external server.");
-                }
-            } catch (Exception e) {
-                useExternal = false;
-                extPlayer = null;
-                net = null;
-                System.err.println("[EXT] Connection error: " + e.getMessage());
-            }
-        }
+        boolean requested = extDriver.newPiece();
 
         if (useAI && aiPlayer != null && !requested) {
             extControlsThisPiece = true;
             var snap = snapshot();
             aiPlayer.requestMoveAsync(
                     snap,
-                    mv -> {
+                    mv -> onSim(() -> {
                         int r = mv.opRotate & 3;
                         aiRotLeft = r;
                         aiTargetX = mv.opX;
@@ -669,11 +576,25 @@ public class GamePane extends BorderPane {
                         applyAutoBoostIfNeeded();
                         lastDropTime = 0L;
                         System.out.println("[AI] plan: rotate=" + aiRotLeft + " targetLeft=" + aiTargetX);
-                    },
-                    err -> { extControlsThisPiece = false; }
+                    }),
+                    err -> onSim(() -> extControlsThisPiece = false)
             );
         }
-        extLateJoinAsked = false;
+    }
+
+    private long externalDeadlineNanos() {
+        return ExternalRequestTracker.deadlineNanos(board, current, baseDropSpeed());
+    }
+
+    // Hands the board to any spectators. Skipped when the frame did not change or nobody is
+    // watching; a viewer who joins later gets the changes held back meanwhile.
+    private void publishToSpectators(boolean changed) {
+        if (feed == null || board == null) return;
+        if (changed) feedBehind = true;
+        if (!feedBehind || feed.viewers() == 0) return;
+        feedBehind = false;
+        feedCells = SpectatorFeed.cellsOf(board, current, feedCells);
+        feed.publish(feedBoard, board.width(), board.height(), feedCells, score, linesCleared);
     }
 
     private boolean tryBoost() {
@@ -688,19 +609,11 @@ public class GamePane extends BorderPane {
         int cleared = board.clearLines();
 
         linesCleared += cleared;
-        if (linesLabel != null) linesLabel.setText("Lines: " + linesCleared);
+        score += ScoreService.pointsFor(cleared);   // the labels follow from the next frame
 
-        score += ScoreService.pointsFor(cleared);
-
-        if (scoreLabel != null) scoreLabel.setText("Score: " + score);
-
-        if (cleared > 0 && config.isSoundEffect() && beepPlayer != null) {
-            beepPlayer.stop();
-            beepPlayer.play();
-        }
+        if (cleared > 0) SoundService.play(SoundService.ERASE_LINE);
         aiAnimating = false;
         extControlsThisPiece = false;
-        extLateJoinAsked = false;
         spawnNewPiece();
     }
 
@@ -714,75 +627,15 @@ public class GamePane extends BorderPane {
         return (dx != 0 || dy != 0) && (currentLeft() != beforeX || dy != 0);
     }
 
-    private void draw(GraphicsContext gc) {
-        int W = board.width(), H = board.height();
-        gc.clearRect(0, 0, W * cellSize, H * cellSize);
-
-        gc.setStroke(Color.LIGHTGRAY);
-        for (int y=0; y<H; y++) for (int x=0; x<W; x++)
-            gc.strokeRect(x*cellSize, y*cellSize, cellSize, cellSize);
-
-        for (int y=0; y<H; y++) for (int x=0; x<W; x++) {
-            Color cell = board.cells()[y][x];
-            if (cell != null) {
-                double px = x*cellSize, py = y*cellSize;
-                gc.setFill(cell); gc.fillRect(px, py, cellSize, cellSize);
-                gc.setStroke(Color.BLACK); gc.strokeRect(px, py, cellSize, cellSize);
-            }
-        }
-
-        gc.setFill(currentColor);
-        for (Vec c : current.worldCells()) {
-            double px = c.x()*cellSize, py = c.y()*cellSize;
-            gc.fillRect(px, py, cellSize, cellSize);
-            gc.setStroke(Color.BLACK); gc.strokeRect(px, py, cellSize, cellSize);
-        }
-
-        if (paused || gameOver) {
-            double w = W*cellSize, h = H*cellSize;
-            gc.save();
-            gc.setGlobalAlpha(0.45); gc.setFill(Color.BLACK); gc.fillRect(0,0,w,h);
-            gc.setGlobalAlpha(1.0); gc.setFill(Color.WHITE);
-            gc.setTextAlign(TextAlignment.CENTER); gc.setTextBaseline(VPos.CENTER);
-            String title = gameOver ? "Game Over" : "PAUSED";
-            String hint  = gameOver ? "Press Back" : "Press 'P'";
-            gc.setFont(Font.font("Arial", FontWeight.BOLD, 36));
-            gc.fillText(title, w/2.0, h/2.0 - 18);
-            gc.setFont(Font.font("Arial", FontWeight.NORMAL, 18));
-            gc.fillText(hint,  w/2.0, h/2.0 + 16);
-            gc.restore();
-        }
-
-        drawNextPreview();
-    }
-
-    private void drawNextPreview() {
-        if (nextCanvas == null) return;
-        GraphicsContext ng = nextCanvas.getGraphicsContext2D();
-        ng.clearRect(0, 0, nextCanvas.getWidth(), nextCanvas.getHeight());
-
-        Vec[] offs = nextType.offsets();
-
-        int minX=Integer.MAX_VALUE, maxX=Integer.MIN_VALUE;
-        int minY=Integer.MAX_VALUE, maxY=Integer.MIN_VALUE;
-        for (Vec v : offs) {
-            minX = Math.min(minX, v.x()); maxX = Math.max(maxX, v.x());
-            minY = Math.min(minY, v.y()); maxY = Math.max(maxY, v.y());
-        }
-        int w = (maxX - minX + 1), h = (maxY - minY + 1);
-
-        double boxW = nextCanvas.getWidth(), boxH = nextCanvas.getHeight();
-        double startPx = (boxW - w * cellSize) / 2.0 - minX * cellSize;
-        double startPy = (boxH - h * cellSize) / 2.0 - minY * cellSize;
-
-        ng.setFill(nextColor);
-        ng.setStroke(Color.BLACK);
-        for (Vec v : offs) {
-            double px = startPx + v.x() * cellSize;
-            double py = startPy + v.y() * cellSize;
-            ng.fillRect(px, py, cellSize, cellSize);
-            ng.strokeRect(px, py, cellSize, cellSize);
-        }
+    // FX thread: draws the newest frame the simulation published, if any
+    private void draw() {
+        BoardFrame f = frames.poll();
+        if (!renderer.frameNeeded(f)) return;
+        String title = f.gameOver() ? "Game Over" : f.paused() ? "PAUSED" : null;
+        String hint  = f.gameOver() ? "Press Back" : "Press 'P'";
+        renderer.render(f, title, hint);
+        if (scoreLabel != null) scoreLabel.setText("Score: " + f.score());
+        if (linesLabel != null) linesLabel.setText("Lines: " + f.lines());
     }
 
     //capture a snapshot of current game state to send to external
@@ -848,46 +701,10 @@ public class GamePane extends BorderPane {
         return desiredLeft;
     }
 
-    private void playSound(String resource) {
-        if (config.isSoundEffect()) {
-            URL soundUrl = getClass().getResource(resource);
-            if (soundUrl != null) {
-                Media media = new Media(soundUrl.toExternalForm());
-                MediaPlayer player = new MediaPlayer(media);
-                player.setOnEndOfMedia(player::dispose);
-                player.play();
-            }
-        }
-    }
-
     private boolean isMultiplayerGame() {
         return true;
     }
 
-    private void requestExternalForCurrent() {
-        if (!useExternal || net == null || !net.isConnected() || current == null || gameOver) return;
-
-        var snap = snapshot();
-        extPlayer.requestMoveAsync(
-                snap,
-                mv -> Platform.runLater(() -> {
-                    aiRotLeft = mv.opRotate & 3;
-                    aiTargetX = mv.opX;
-                    aiPhase = AiPhase.ROTATE;
-                    aiAnimating = true;
-                    extControlsThisPiece = true;
-                    dropSpeed = BOOST_NANOS;
-                    lastDropTime = 0L;
-                    extLateJoinAsked = true;
-                    doOneAiStep();
-                }),
-                err -> Platform.runLater(() -> {
-                    System.err.println("[EXT] late-join request failed: " + err.getMessage());
-                    extLateJoinAsked = false;
-                })
-        );
-    }
-
     private TetrominoType randomType() {
         TetrominoType[] vals = TetrominoType.values();
         return vals[rng.nextInt(vals.length)];
@@ -1,18 +1,11 @@
 package tetris.controller;
 
-import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
-import javafx.geometry.VPos;
-import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
-import javafx.scene.text.TextAlignment;
 import javafx.stage.Stage;
 import tetris.config.ConfigService;
 import tetris.model.PlayerType;
@@ -21,6 +14,10 @@ import tetris.model.Board;
 import tetris.model.Vec;
 import tetris.model.TetrominoType;
 import tetris.model.piece.ActivePiece;
+import tetris.server.SpectatorFeed;
+import tetris.view.BoardFrame;
+import tetris.view.BoardFrames;
+import tetris.view.BoardRenderer;
 import tetris.model.rules.RotationStrategy;
 import tetris.model.rules.SrsRotation;
 import tetris.model.service.HighScoreManager;
@@ -30,8 +27,9 @@ import tetris.model.service.Score;
 import tetris.view.SinglePlayerView;
 import tetris.view.HighScore;
 import tetris.view.MainMenu;
-import java.net.URL;
+import java.util.Queue;
 import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class GameplayController {
     private final TetrisConfig config = TetrisConfig.getInstance();
@@ -40,7 +38,6 @@ public class GameplayController {
     private long dropSpeed;
     private int score = 0;
     private MediaPlayer musicPlayer;
-    private MediaPlayer beepPlayer;
     private static final Color[] colourOptions = {
             Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW
     };
@@ -50,23 +47,25 @@ public class GameplayController {
     private Color currentColor;
     private final RotationStrategy rotator = new SrsRotation();
     private SinglePlayerView view;
-    private AnimationTimer timer;
+    private GameClock.Engine engine;
+    private final BoardFrames frames = new BoardFrames();         // simulation -> FX
+    private final Queue<Runnable> inbox = new ConcurrentLinkedQueue<>(); // FX -> simulation
+    private SpectatorFeed feed;                // null unless a spectator port is configured
+    private int feedBoard;
+    private int[] feedCells;
+    private boolean feedBehind = true;         // board changed since the feed last got it
     private TetrominoType nextType;
     private Color nextColor;
     private int linesCleared = 0;
     private boolean useExternal = false;
     private INetwork net;
-    private Player extPlayer;
+    private BoardRenderer renderer;
     private boolean extControlsThisPiece = false;
     private String extHost = "localhost";
     private int    extPort = 3000;
-    private java.util.concurrent.ScheduledExecutorService extHealthExec;
-    private volatile boolean extServerUp = true;
-    private final java.util.concurrent.atomic.AtomicBoolean extOutageAlerted =
-            new java.util.concurrent.atomic.AtomicBoolean(false);
-    private boolean extLateJoinAsked = false;
+    private final ExternalMoveDriver extDriver = new ExternalMoveDriver(new ExternalSteering());
     private boolean useAI = false;
-    private AIPlayer aiPlayer;
+    private Player aiPlayer;
     private boolean aiAnimating = false;
     private enum AiPhase { ROTATE, SHIFT }
     private AiPhase aiPhase;
@@ -86,7 +85,11 @@ public class GameplayController {
     private final ScoreObserver scoreObserver = newScore ->
             Platform.runLater(() -> { if (view != null) view.setScore(newScore); });
     private Stage stage;
-    private GameState state;
+    private volatile GameState state;              // written by the simulation thread
+
+    // Called from the FX thread; the game runs on the simulation thread, which picks these up
+    // at its next step
+    private void onSim(Runnable r) { inbox.add(r); }
 
     private void setState(GameState next) {
         if (state != null) state.onExit();
@@ -99,15 +102,6 @@ public class GameplayController {
                 && !useAI && !useExternal && !extControlsThisPiece;
     }
 
-    private boolean pingExternal(String host, int port, int timeoutMs) {
-        try (java.net.Socket s = new java.net.Socket()) {
-            s.connect(new java.net.InetSocketAddress(host, port), timeoutMs);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
     private void notifyExternalIssue(String message) {
         if (!useExternal) return;
         Platform.runLater(() -> {
@@ -121,76 +115,30 @@ public class GameplayController {
         });
     }
 
-    private void startExternalHealthMonitor(String host, int port) {
-        stopExternalHealthMonitor();
-        extHealthExec = java.util.concurrent.Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "ext-health");
-            t.setDaemon(true);
-            return t;
-        });
-        extHealthExec.scheduleAtFixedRate(() -> {
-            boolean ok = pingExternal(host, port, 500);
-            boolean wasUp = extServerUp;
-            extServerUp = ok;
-
-            if (!ok && wasUp) {
-                // became DOWN
-                if (extOutageAlerted.compareAndSet(false, true)) {
-                    notifyExternalIssue("External server not responding (timeout/refused).");
-                }
-            } else if (ok && !wasUp) {
-                extOutageAlerted.set(false);
-                reconnectAndLateJoin();
-            }
-        }, 0, 1, java.util.concurrent.TimeUnit.SECONDS);
-    }
-
-    private void stopExternalHealthMonitor() {
-        if (extHealthExec != null) {
-            extHealthExec.shutdownNow();
-            extHealthExec = null;
+    // Plays the external player's moves on this board's piece; the piece counts as taken
+    // from the moment it is asked for
+    private class ExternalSteering implements ExternalMoveDriver.Host {
+        @Override public boolean pieceInPlay() { return state != null && !state.isGameOver() && current != null; }
+        @Override public boolean steering() { return extControlsThisPiece || extAnimating; }
+        @Override public tetris.model.dto.PureGame snapshot() { return GameplayController.this.snapshot(); }
+        @Override public void onSim(Runnable r) { GameplayController.this.onSim(r); }
+        @Override public void asked(ExternalMoveDriver.Ask why) { extControlsThisPiece = true; }
+
+        @Override public void steer(tetris.model.dto.OpMove mv) {
+            extRotLeft = (mv.opRotate & 3);
+            extTargetX = mv.opX;
+            extPhase   = ExtPhase.ROTATE;
+            extAnimating = true;
+            extControlsThisPiece = true;
+            lastDropTime = 0L;
+            applyAutoBoostIfNeeded();
         }
-    }
-
-    private void reconnectAndLateJoin() {
-        if (!useExternal || state == null || state.isGameOver()
-                || current == null || extControlsThisPiece || extAnimating) return;
 
-        try {
-            net = new ExternalPlayerClient(extHost, extPort);
-            net.connect();
-            if (!net.isConnected()) {
-                notifyExternalIssue("External server reachable but connect() failed after recovery.");
-                return;
-            }
-            extPlayer = new ExternalPlayer(net);
-
-            var snap = snapshot();
-            extLateJoinAsked = true;
-
-            extPlayer.requestMoveAsync(
-                    snap,
-                    mv -> {
-                        Platform.runLater(() -> {
-                            extRotLeft = (mv.opRotate & 3);
-                            extTargetX = mv.opX;
-                            extPhase   = ExtPhase.ROTATE;
-                            extAnimating = true;
-                            extControlsThisPiece = true;
-                            applyAutoBoostIfNeeded();
-                            lastDropTime = 0L;
-                        });
-                    },
-                    err -> {
-                        Platform.runLater(() -> {
-                            notifyExternalIssue("External move request failed after recovery: " + err.getMessage());
-                            extLateJoinAsked = false;
-                        });
-                    }
-            );
-        } catch (Exception e) {
-            notifyExternalIssue("Reconnection failed: " + e.getClass().getSimpleName() +
-                    (e.getMessage() != null ? (": " + e.getMessage()) : ""));
+        @Override public void requestFailed(ExternalMoveDriver.Ask why, Throwable err) {
+            notifyExternalIssue("External move request failed"
+                    + (why == ExternalMoveDriver.Ask.RECOVERY ? " after recovery: " : ": ") + err.getMessage());
+            extAnimating = false;
+            extControlsThisPiece = false;
         }
     }
 
@@ -199,6 +147,10 @@ public class GameplayController {
         board = new Board(config.getFieldWidth(), config.getFieldHeight());
         dropSpeed = baseDropSpeed();
         view = new SinglePlayerView(board.width(), board.height());
+        renderer = view.getRenderer();
+        renderer.preload(colourOptions);
+        view.getPerfHud().watch(() -> aiPlayer instanceof AIPlayer ai ? ai.thinkTimes() : null,
+                () -> net == null ? null : net.metrics());
         view.setPlayerTypeText(currentPlayerType());
         view.setLevel(config.getGameLevel());
         view.setLines(0);
@@ -206,23 +158,25 @@ public class GameplayController {
         int sceneWidth  = board.width()  * cellSize + 40;
         int sceneHeight = board.height() * cellSize + 120;
         view.attachTo(stage, "Tetris", sceneWidth, sceneHeight);
-        PlayerFactory.configureForType(this, config.getPlayer1Type(), "localhost", 3000);
+        PlayerFactory.Endpoint ext = PlayerFactory.endpoints().get(0);
+        PlayerFactory.configureForType(this, config.getPlayer1Type(), ext.host(), ext.port());
         stage.getScene().setOnKeyPressed(e -> {
             switch (e.getCode()) {
-                case A -> { if (humanInputEnabled()) { tryMoveLeft();  playSound("/sounds/move-turn.wav"); } }
-                case D -> { if (humanInputEnabled()) { tryMoveRight(); playSound("/sounds/move-turn.wav"); } }
-                case W, UP -> { if (humanInputEnabled()) { tryRotate(); playSound("/sounds/move-turn.wav"); } }
-                case S -> { if (state != null && state.allowsHumanInput()) boost(true); }
+                case A -> onSim(() -> { if (humanInputEnabled()) { tryMoveLeft();  SoundService.play(SoundService.MOVE_TURN); } });
+                case D -> onSim(() -> { if (humanInputEnabled()) { tryMoveRight(); SoundService.play(SoundService.MOVE_TURN); } });
+                case W, UP -> onSim(() -> { if (humanInputEnabled()) { tryRotate(); SoundService.play(SoundService.MOVE_TURN); } });
+                case S -> onSim(() -> { if (state != null && state.allowsHumanInput()) boost(true); });
 
-                case P -> togglePause();
+                case P -> onSim(this::togglePause);
                 case M -> toggleMusic();
                 case N -> toggleSound();
+                case F3 -> view.getPerfHud().toggle();
             }
         });
 
         stage.getScene().setOnKeyReleased(e -> {
-            if (e.getCode() == KeyCode.S && state != null && state.allowsHumanInput()) {
-                boost(false);
+            if (e.getCode() == KeyCode.S) {
+                onSim(() -> { if (state != null && state.allowsHumanInput()) boost(false); });
             }
         });
 
@@ -232,8 +186,7 @@ public class GameplayController {
                 stopMusicAndDispose();
                 try { new MainMenu().start(stage); } catch (Exception ex) { ex.printStackTrace(); }
             } else {
-                GameState before = state;
-                setState(new PausedState(this));
+                onSim(() -> { if (!(state instanceof GameOverState)) setState(new PausedState(this)); });
 
                 Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
                 alert.initOwner(stage);
@@ -251,80 +204,96 @@ public class GameplayController {
                         stopMusicAndDispose();
                         try { new MainMenu().start(stage); } catch (Exception ex) { ex.printStackTrace(); }
                     } else {
-                        if (!(before instanceof GameOverState)) setState(new RunningState(this));
+                        onSim(() -> { if (state instanceof PausedState) setState(new RunningState(this)); });
                     }
                 });
             }
         });
 
         if (config.isMusic()) {
-            URL musicUrl = getClass().getResource("/sounds/background.mp3");
-            if (musicUrl != null) {
-                Media backgroundMusic = new Media(musicUrl.toExternalForm());
+            Media backgroundMusic = AssetManager.media(AssetManager.MUSIC);
+            if (backgroundMusic != null) {
                 musicPlayer = new MediaPlayer(backgroundMusic);
                 musicPlayer.setCycleCount(MediaPlayer.INDEFINITE);
                 musicPlayer.setOnReady(() -> musicPlayer.play());
             }
         }
 
-        URL soundUrl = getClass().getResource("/sounds/erase-line.wav");
-        if (soundUrl != null) {
-            Media beep = new Media(soundUrl.toExternalForm());
-            beepPlayer = new MediaPlayer(beep);
-            beepPlayer.setOnEndOfMedia(() -> beepPlayer.stop());
-        }
+        SoundService.preloadAll();
 
         stage.show();
         resetGameState();
         spawnNewPiece();
 
         setState(new RunningState(this));
-        timer = new AnimationTimer() {
-            @Override public void handle(long now) {
-                if (state != null) state.onTick(now);
-                draw(view.getBoardGC());
+        engine = new GameClock.Engine() {
+            @Override public void step(long simNanos) {
+                for (Runnable r; (r = inbox.poll()) != null; ) r.run();
+                GameState s = state;
+                if (s != null) s.onTick(simNanos);
+                s = state;
+                boolean changed = frames.publish(board, current, currentColor, nextType, nextColor,
+                        s != null && s.isPaused(), s != null && s.isGameOver(), score, linesCleared);
+                publishToSpectators(changed);
+            }
+            @Override public void render() {
+                draw();
             }
         };
-        timer.start();
+        feed = SpectatorFeed.shared();
+        if (feed != null) feedBoard = feed.openBoard();
+        GameClock.shared().add(engine);
     }
 
     public void enableAI(tetris.model.ai.Heuristic h) {
+        enableAI(new AIPlayer(h));
+    }
+
+    public void enableAI(Player bot) {
         useAI = true;
-        aiPlayer = new AIPlayer(h);
+        aiPlayer = bot;
     }
 
     public void enableExternal(String host, int port) {
+        net = PlayerFactory.newNetwork(host, port);    // first, so a bad config leaves the mode unchanged
         useExternal = true;
         useAI = false;
         this.extHost = host;
         this.extPort = port;
-        net = new ExternalPlayerClient(host, port);
-        extPlayer = new ExternalPlayer(net);
-        try {
-            net.connect();
-            if (!net.isConnected()) throw new IllegalStateException("Not connected");
-            applyAutoBoostIfNeeded();
-        } catch (Exception ex) {
-            extPlayer = null;
-            net = null;
-        }
-        startExternalHealthMonitor(host, port);
+        ExternalPlayer ext = new ExternalPlayer(net);
+        extDriver.attach(PlayerFactory.withFallback(ext, this::externalDeadlineNanos), net);
+        // If the first connect fails the client keeps retrying with backoff and reports recovery
+        ext.setConnectionCallbacks(
+                () -> notifyExternalIssue("Lost connection to the external player at " + extHost + ":" + extPort + "."),
+                () -> onSim(() -> extDriver.ask(ExternalMoveDriver.Ask.RECOVERY)));
+        net.connect();
+        applyAutoBoostIfNeeded();
     }
 
     long getLastDropTime() { return lastDropTime; }
     void setLastDropTime(long v) { lastDropTime = v; }
     long getDropSpeedNanos() { return dropSpeed; }
     void resetDropTimer() { lastDropTime = 0; }
+    // Any thread: game over calls it from the simulation thread, so everything past leaving the
+    // clock (the view, the feed, the connection) is handed to the FX thread
     void stopTimer() {
+        if (engine != null) GameClock.shared().remove(engine);
+        if (Platform.isFxApplicationThread()) endSession(); else Platform.runLater(this::endSession);
+    }
+
+    private void endSession() {
         ScoreService.removeObserver(scoreObserver);
-        if (timer != null) timer.stop();
-        stopExternalHealthMonitor();
+        if (renderer != null) System.out.println("[render] " + renderer.frameReport());
+        if (view != null) view.getPerfHud().hide();
+        if (feed != null) { feed.closeBoard(feedBoard); feed = null; }
+        if (net != null) {
+            net.disconnect();
+            if (useExternal) System.out.println("[EXT] session: " + net.metrics().summary());
+        }
+        if (useExternal) System.out.println("[EXT] requests: " + extDriver.requests().summary());
     }
 
     void stepBrainsOnce() {
-        if (useExternal && (net == null || !net.isConnected()) && !extControlsThisPiece && !extAnimating && !extLateJoinAsked) {
-            tryReconnectAndRequestExternal();
-        }
         if (extAnimating) {
             doOneExternalStep();
         } else if (aiAnimating) {
@@ -335,19 +304,17 @@ public class GameplayController {
     boolean tryGravity() { return tryBoost(); }
 
     void lockPieceAndSpawn() {
-        lockPiece();
-        extAnimating = false;
+        extAnimating = false;               // before the spawn, which may start a planned move
         aiAnimating  = false;
         extControlsThisPiece = false;
+        lockPiece();
     }
 
-    void pauseMusicIfEnabled() { if (musicPlayer != null && config.isMusic()) musicPlayer.pause(); }
-    void resumeMusicIfEnabled(){ if (musicPlayer != null && config.isMusic()) musicPlayer.play(); }
+    void pauseMusicIfEnabled() { Platform.runLater(() -> { if (musicPlayer != null && config.isMusic()) musicPlayer.pause(); }); }
+    void resumeMusicIfEnabled(){ Platform.runLater(() -> { if (musicPlayer != null && config.isMusic()) musicPlayer.play(); }); }
 
-    void tryReconnectIfNeeded() {
-        if (useExternal && (net == null || !net.isConnected()) && !extControlsThisPiece && !extAnimating) {
-            tryReconnectAndRequestExternal();
-        }
+    void requestExternalIfIdle() {
+        if (useExternal) extDriver.askIfIdle();
     }
 
     private long baseDropSpeed() {
@@ -491,6 +458,7 @@ public class GameplayController {
 
     private void resetGameState() {
         board = new Board(config.getFieldWidth(), config.getFieldHeight());
+        extDriver.reset();
         score = 0;
         linesCleared = 0;
         lastDropTime = 0L;
@@ -501,9 +469,6 @@ public class GameplayController {
         nextType  = randomType();
         nextColor = randomColor();
         humanBoosting = false;
-        Canvas boardCanvas = view.getBoardCanvas();
-        boardCanvas.setWidth(board.width() * cellSize);
-        boardCanvas.setHeight(board.height() * cellSize);
     }
 
     private void spawnNewPiece() {
@@ -516,7 +481,6 @@ public class GameplayController {
         aiAnimating  = false;
         extRotateAttempts = 0;
         aiRotateAttempts  = 0;
-        boolean requested = false;
         Vec[] base = type.offsets();
         int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
         for (Vec v : base) { if (v.x() < minX) minX = v.x(); if (v.x() > maxX) maxX = v.x(); }
@@ -533,66 +497,14 @@ public class GameplayController {
             }
         }
 
-        if (useExternal) {
-            try {
-                if (net != null) {
-                    try { net.disconnect(); } catch (Exception ignore) {}
-                }
-
-                net = new ExternalPlayerClient(extHost, extPort);
-                net.connect();
-
-                if (net.isConnected()) {
-                    extPlayer = new ExternalPlayer(net);
-
-                    final var snap = snapshot();
-                    requested = true;
-                    extControlsThisPiece = true;
-                    extLateJoinAsked = true;
-
-                    extPlayer.requestMoveAsync(
-                            snap,
-                            mv -> {
-                                Platform.runLater(() -> {
-                                    extRotLeft = (mv.opRotate & 3);
-                                    extTargetX = mv.opX;
-                                    extPhase   = ExtPhase.ROTATE;
-                                    extAnimating = true;
-                                    applyAutoBoostIfNeeded();
-                                    extControlsThisPiece = true;
-                                    lastDropTime = 0L;
-                                });
-                            },
-                            err -> {
-                                Platform.runLater(() -> {
-                                    notifyExternalIssue("External move request failed: " + err.getMessage());
-                                    extAnimating = false;
-                                    extControlsThisPiece = false;
-                                    extLateJoinAsked = false;
-                                });
-                            }
-                    );
-                } else {
-                    extPlayer = null;
-                    extControlsThisPiece = false;
-                    extLateJoinAsked = false;
-                }
-            } catch (Exception e) {
-                notifyExternalIssue("External connect error: "
-                        + e.getClass().getSimpleName()
-                        + (e.getMessage() != null ? (": " + e.getMessage()) : ""));
-                extPlayer = null;
-                extControlsThisPiece = false;
-                extLateJoinAsked = false;
-            }
-        }
+        boolean requested = extDriver.newPiece();
 
         if (useAI && aiPlayer != null && !requested) {
             extControlsThisPiece = true;
             final var snap = snapshot();
             aiPlayer.requestMoveAsync(
                     snap,
-                    mv -> {
+                    mv -> onSim(() -> {
                         int r = (mv.opRotate & 3);
                         aiRotLeft = r;
                         aiTargetX = mv.opX;
@@ -600,44 +512,25 @@ public class GameplayController {
                         aiAnimating = true;
                         extControlsThisPiece = true;
                         lastDropTime = 0L;
-                    },
-                    err -> { extControlsThisPiece = false; }
+                    }),
+                    err -> onSim(() -> extControlsThisPiece = false)
             );
         }
     }
 
-    private void tryReconnectAndRequestExternal() {
-        if (!useExternal || net != null && net.isConnected()) return;
-
-        try {
-            String host = "localhost";
-            int port = 3000;
-            net = new ExternalPlayerClient(host, port);
-            net.connect();
-            if (net.isConnected()) {
-                extPlayer = new ExternalPlayer(net);
-                extPlayer.requestMoveAsync(
-                        snapshot(),
-                        mv -> {
-                            extRotLeft = (mv.opRotate & 3);
-                            extTargetX = mv.opX;
-                            extPhase   = ExtPhase.ROTATE;
-                            extAnimating = true;
-                            extControlsThisPiece = true;
-                            applyAutoBoostIfNeeded();
-                            lastDropTime = 0L;
-                        },
-                        err -> {
-                            extAnimating = false;
-                            extPlayer = null;
-                            net = null;
-                        }
-                );
-            }
-        } catch (Exception e) {
-            extPlayer = null;
-            net = null;
-        }
+    private long externalDeadlineNanos() {
+        return ExternalRequestTracker.deadlineNanos(board, current, baseDropSpeed());
+    }
+
+    // Hands the board to any spectators. Skipped when the frame did not change or nobody is
+    // watching; a viewer who joins later gets the changes held back meanwhile.
+    private void publishToSpectators(boolean changed) {
+        if (feed == null || board == null) return;
+        if (changed) feedBehind = true;
+        if (!feedBehind || feed.viewers() == 0) return;
+        feedBehind = false;
+        feedCells = SpectatorFeed.cellsOf(board, current, feedCells);
+        feed.publish(feedBoard, board.width(), board.height(), feedCells, score, linesCleared);
     }
 
     private boolean tryBoost() {
@@ -654,105 +547,23 @@ public class GameplayController {
 
         ScoreService.notifyScoreChanged(score);
 
-        linesCleared += cleared;
-        view.setLines(linesCleared);
-        view.setScore(score);
+        linesCleared += cleared;                    // the labels follow from the next frame
 
-        if (cleared > 0 && config.isSoundEffect() && beepPlayer != null) {
-            beepPlayer.stop();
-            beepPlayer.play();
-        }
+        if (cleared > 0) SoundService.play(SoundService.ERASE_LINE);
 
         spawnNewPiece();
     }
 
 
-    private void draw(GraphicsContext gc) {
-        Color[][] grid = board.cells();
-        int H = grid.length;
-        int W = grid[0].length;
-
-        gc.clearRect(0, 0, W * cellSize, H * cellSize);
-
-        gc.setStroke(Color.LIGHTGRAY);
-        for (int y = 0; y < H; y++) {
-            for (int x = 0; x < W; x++)
-                gc.strokeRect(x * cellSize, y * cellSize, cellSize, cellSize);
-        }
-
-        for (int y = 0; y < H; y++) {
-            for (int x = 0; x < W; x++) {
-                Color cell = grid[y][x];
-                if (cell != null) {
-                    double px = x * cellSize, py = y * cellSize;
-                    gc.setFill(cell);
-                    gc.fillRect(px, py, cellSize, cellSize);
-                    gc.setStroke(Color.BLACK);
-                    gc.strokeRect(px, py, cellSize, cellSize);
-                }
-            }
-        }
-
-        gc.setFill(currentColor);
-        for (Vec c : current.worldCells()) {
-            double px = c.x() * cellSize, py = c.y() * cellSize;
-            gc.fillRect(px, py, cellSize, cellSize);
-            gc.setStroke(Color.BLACK);
-            gc.strokeRect(px, py, cellSize, cellSize);
-        }
-
-        if (state != null && (state.isPaused() || state.isGameOver())) {
-            double w = W * cellSize, h = H * cellSize;
-            gc.save();
-            gc.setGlobalAlpha(0.45);
-            gc.setFill(Color.BLACK);
-            gc.fillRect(0, 0, w, h);
-
-            gc.setGlobalAlpha(1.0);
-            gc.setFill(Color.WHITE);
-            gc.setTextAlign(TextAlignment.CENTER);
-            gc.setTextBaseline(VPos.CENTER);
-
-            String title = state.isGameOver() ? "Game Over" : "PAUSED";
-            String hint  = state.isGameOver() ? "Press Back to return" : "Press 'P' to resume";
-
-            gc.setFont(Font.font("Arial", FontWeight.BOLD, 36));
-            gc.fillText(title, w / 2.0, h / 2.0 - 18);
-
-            gc.setFont(Font.font("Arial", FontWeight.NORMAL, 18));
-            gc.fillText(hint,  w / 2.0, h / 2.0 + 16);
-            gc.restore();
-        }
-        drawNextPreview();
-    }
-
-    private void drawNextPreview() {
-        Canvas nextCanvas = view.getNextCanvas();
-        GraphicsContext ng = nextCanvas.getGraphicsContext2D();
-        ng.clearRect(0, 0, nextCanvas.getWidth(), nextCanvas.getHeight());
-
-        Vec[] offs = nextType.offsets();
-
-        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
-        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
-        for (Vec v : offs) {
-            minX = Math.min(minX, v.x()); maxX = Math.max(maxX, v.x());
-            minY = Math.min(minY, v.y()); maxY = Math.max(maxY, v.y());
-        }
-        int w = (maxX - minX + 1), h = (maxY - minY + 1);
-
-        double boxW = nextCanvas.getWidth(), boxH = nextCanvas.getHeight();
-        double startPx = (boxW - w * cellSize) / 2.0 - minX * cellSize;
-        double startPy = (boxH - h * cellSize) / 2.0 - minY * cellSize;
-
-        ng.setFill(nextColor);
-        ng.setStroke(Color.BLACK);
-        for (Vec v : offs) {
-            double px = startPx + v.x() * cellSize;
-            double py = startPy + v.y() * cellSize;
-            ng.fillRect(px, py, cellSize, cellSize);
-            ng.strokeRect(px, py, cellSize, cellSize);
-        }
+    // FX thread: draws the newest frame the simulation published, if any
+    private void draw() {
+        BoardFrame f = frames.poll();
+        if (!renderer.frameNeeded(f)) return;
+        String title = f.gameOver() ? "Game Over" : f.paused() ? "PAUSED" : null;
+        String hint  = f.gameOver() ? "Press Back to return" : "Press 'P' to resume";
+        renderer.render(f, title, hint);
+        view.setScore(f.score());
+        view.setLines(f.lines());
     }
 
     private TetrominoType randomType() {
@@ -870,30 +681,15 @@ public class GameplayController {
 
     private void initMusicPlayerIfNeeded() {
         if (musicPlayer != null) return;
-        URL musicUrl = getClass().getResource("/sounds/background.mp3");
-        if (musicUrl == null) {
-            System.err.println("background.mp3 not found under /sounds");
-            return;
-        }
-        Media bg = new Media(musicUrl.toExternalForm());
+        Media bg = AssetManager.media(AssetManager.MUSIC);
+        if (bg == null) return;
         musicPlayer = new MediaPlayer(bg);
         musicPlayer.setCycleCount(MediaPlayer.INDEFINITE);
     }
 
-    private void playSound(String resource) {
-        if (config.isSoundEffect()) {
-            URL soundUrl = getClass().getResource(resource);
-            if (soundUrl != null) {
-                Media media = new Media(soundUrl.toExternalForm());
-                MediaPlayer player = new MediaPlayer(media);
-                player.setOnEndOfMedia(player::dispose);
-                player.play();
-            }
-        }
-    }
 
     public void onGameOverDialog() {
-        playSound("/sounds/game-finish.wav");
+        SoundService.play(SoundService.GAME_FINISH);
 
         Platform.runLater(() -> {
             TextInputDialog dialog = new TextInputDialog("Player");
@@ -0,0 +1,87 @@
+package tetris.controller;
+
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+import tetris.model.service.SessionMetrics;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+// Asks the primary (external) player first; once `hedgeFraction` of the deadline has passed
+// without an answer, or the primary fails, a local fallback is asked as well and the first
+// move to arrive is used.
+public class HedgedPlayer implements Player {
+    private final Player primary;
+    private final Player fallback;
+    private final SessionMetrics metrics;
+    private LongSupplier deadlineNanos = () -> 1_000_000_000L;
+    private double hedgeFraction = 0.5;
+
+    public HedgedPlayer(Player primary, Player fallback, SessionMetrics metrics) {
+        this.primary = primary;
+        this.fallback = fallback;
+        this.metrics = metrics;
+    }
+
+    // Evaluated at each request, so it can follow the current drop speed
+    public void setDeadline(LongSupplier deadlineNanos) { this.deadlineNanos = deadlineNanos; }
+    public void setHedgeFraction(double f) { this.hedgeFraction = Math.max(0.0, Math.min(1.0, f)); }
+
+    @Override
+    public void requestMoveAsync(PureGame game,
+                                 Consumer<OpMove> onReady,
+                                 Consumer<Throwable> onError) {
+        Attempt a = new Attempt(game, onReady, onError, Math.max(0, deadlineNanos.getAsLong()));
+        a.hedge = NetThreads.after("hedge", (long) (a.deadline * hedgeFraction), TimeUnit.NANOSECONDS, a::startFallback);
+        primary.requestMoveAsync(game, mv -> a.win(mv, false), a::failed);
+    }
+
+    // One request: the first move wins, errors only surface once both sides have failed
+    private final class Attempt {
+        final PureGame game;
+        final Consumer<OpMove> onReady;
+        final Consumer<Throwable> onError;
+        final long start = System.nanoTime();
+        final long deadline;
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final AtomicBoolean hedged = new AtomicBoolean(false);
+        final AtomicInteger failures = new AtomicInteger();
+        volatile ScheduledFuture<?> hedge;
+
+        Attempt(PureGame game, Consumer<OpMove> onReady, Consumer<Throwable> onError, long deadline) {
+            this.game = game; this.onReady = onReady; this.onError = onError; this.deadline = deadline;
+        }
+
+        void startFallback() {
+            if (done.get() || !hedged.compareAndSet(false, true)) return;
+            metrics.onHedge();
+            fallback.requestMoveAsync(game, mv -> win(mv, true), this::failed);
+        }
+
+        void win(OpMove mv, boolean fromFallback) {
+            if (!done.compareAndSet(false, true)) return;
+            cancelHedge();
+            if (fromFallback) metrics.onFallbackWin(); else metrics.onPrimaryWin();
+            if (System.nanoTime() - start > deadline) metrics.onLateMove();
+            onReady.accept(mv);
+        }
+
+        void failed(Throwable err) {
+            if (failures.incrementAndGet() == 1) {
+                cancelHedge();
+                startFallback(); // no-op if it is already running
+                return;
+            }
+            if (done.compareAndSet(false, true)) onError.accept(err);
+        }
+
+        private void cancelHedge() {
+            ScheduledFuture<?> h = hedge;
+            if (h != null) h.cancel(false);
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package tetris.controller;
 import tetris.model.dto.PureGame;
+import tetris.model.service.SessionMetrics;
 
 public interface INetwork {
     void connect();
     void disconnect();
     boolean isConnected();
+    boolean isAvailable();
+    // connect() returned, and the link is still coming up in the background
+    default boolean isAttaching() { return false; }
     void sendGameAsync(PureGame game);
     void setListener(NetworkListener l);
+    SessionMetrics metrics();
 }
-
@@ -0,0 +1,44 @@
+package tetris.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+// Newline framing over a reusable byte buffer; lines are handed out as (array, start, length)
+// and stay valid until the next call.
+public final class LineReader {
+    private final InputStream in;
+    private byte[] buf = new byte[8 * 1024];
+    private int start, end;      // unread bytes are buf[start, end)
+    private int lineStart;
+
+    public LineReader(InputStream in) { this.in = in; }
+
+    public byte[] array()   { return buf; }
+    public int lineStart()  { return lineStart; }
+
+    // Length of the next line without its newline, or -1 at end of stream
+    public int next() throws IOException {
+        int scanFrom = start;
+        while (true) {
+            for (int i = scanFrom; i < end; i++) {
+                if (buf[i] == '\n') {
+                    lineStart = start;
+                    start = i + 1;
+                    return i - lineStart;
+                }
+            }
+            scanFrom = end;
+            if (start == end) {
+                start = end = scanFrom = 0;
+            } else if (start > 0 && end == buf.length) { // compact before growing
+                System.arraycopy(buf, start, buf, 0, end - start);
+                end -= start; scanFrom -= start; start = 0;
+            }
+            if (end == buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+            int n = in.read(buf, end, buf.length - end);
+            if (n < 0) return -1;
+            end += n;
+        }
+    }
+}
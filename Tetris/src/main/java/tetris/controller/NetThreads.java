@@ -0,0 +1,46 @@
+package tetris.controller;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Shared threading for the network stack: blocking I/O runs on virtual threads,
+// and one daemon timer thread drives every periodic network task in the process.
+public final class NetThreads {
+    private static final ScheduledExecutorService TIMER =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "net-timer");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private NetThreads() {}
+
+    public static Thread start(String name, Runnable task) {
+        return Thread.ofVirtual().name(name).start(task);
+    }
+
+    // Single virtual worker; keeps submitted tasks in order (e.g. writes on one socket)
+    public static ExecutorService serial(String name) {
+        return Executors.newSingleThreadExecutor(Thread.ofVirtual().name(name).factory());
+    }
+
+    // Runs task on a fresh virtual thread every period; a run still in progress is not overlapped
+    public static ScheduledFuture<?> every(String name, long period, TimeUnit unit, Runnable task) {
+        AtomicBoolean busy = new AtomicBoolean(false);
+        return TIMER.scheduleAtFixedRate(() -> {
+            if (!busy.compareAndSet(false, true)) return;
+            start(name, () -> {
+                try { task.run(); } finally { busy.set(false); }
+            });
+        }, 0, period, unit);
+    }
+
+    // One-shot delayed task, run on a virtual thread so it may block
+    public static ScheduledFuture<?> after(String name, long delay, TimeUnit unit, Runnable task) {
+        return TIMER.schedule(() -> { start(name, task); }, delay, unit);
+    }
+}
@@ -6,4 +6,8 @@ public interface NetworkListener {
     void onConnectionLost();
     void onConnectionRecovered();
     void onProtocolError(String message, Throwable t);
+
+    // Request `seq` (the network's seq-th sendGameAsync, from 1) never reached the bot, so no
+    // reply will come for it. Replies keep settling the oldest request that is still waiting.
+    default void onSendFailed(long seq, String message, Throwable t) { onProtocolError(message, t); }
 }
\ No newline at end of file
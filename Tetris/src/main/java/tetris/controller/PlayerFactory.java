@@ -1,7 +1,10 @@
 package tetris.controller;
 
+import tetris.config.TetrisConfig;
 import tetris.model.PlayerType;
 
+import java.util.function.LongSupplier;
+
 public final class PlayerFactory {
     private PlayerFactory() {}
 
@@ -10,7 +13,7 @@ public final class PlayerFactory {
                                         String host, int port) {
         switch (type) {
             case HUMAN -> {}
-            case AI     -> gameplay.enableAI(new tetris.model.ai.BetterHeuristic());
+            case AI     -> gameplay.enableAI(BotRegistry.player(TetrisConfig.getInstance().getAiBot()));
             case EXTERNAL -> gameplay.enableExternal(host, port);
         }
     }
@@ -20,8 +23,72 @@ public final class PlayerFactory {
                                         String host, int port) throws Exception {
         switch (type) {
             case HUMAN -> {}
-            case AI     -> pane.enableAI(new tetris.model.ai.BetterHeuristic());
+            case AI     -> pane.enableAI(BotRegistry.player(TetrisConfig.getInstance().getAiBot()));
             case EXTERNAL -> pane.enableExternal(host, port);
         }
     }
+
+    public record Endpoint(String host, int port) {
+        // "host:port", or a bare port on localhost
+        public static Endpoint parse(String s) {
+            String t = s.trim();
+            int colon = t.lastIndexOf(':');
+            if (colon < 0) return new Endpoint("localhost", Integer.parseInt(t));
+            return new Endpoint(t.substring(0, colon), Integer.parseInt(t.substring(colon + 1)));
+        }
+        @Override public String toString() { return host + ":" + port; }
+    }
+
+    // Configured tcp endpoints; the first is what a single-endpoint setup connects to
+    public static java.util.List<Endpoint> endpoints() {
+        java.util.List<String> raw = TetrisConfig.getInstance().getExternalEndpoints();
+        if (raw == null || raw.isEmpty()) return java.util.List.of(new Endpoint("localhost", 3000));
+        return raw.stream().map(Endpoint::parse).toList();
+    }
+
+    // Transport comes from TetrisConfig; only tcp uses host and port. Several configured
+    // endpoints are pooled, with host and port naming the first.
+    public static INetwork newNetwork(String host, int port) {
+        TetrisConfig cfg = TetrisConfig.getInstance();
+        String transport = cfg.getExternalTransport() == null ? "tcp" : cfg.getExternalTransport().toLowerCase();
+        if (transport.equals("shm")) return new SharedMemoryClient(java.nio.file.Path.of(cfg.getExternalShmPath()));
+        if (transport.equals("proc")) {
+            String command = cfg.getExternalCommand();
+            if (command == null || command.isBlank()) {
+                throw new IllegalStateException("external transport 'proc' needs an external command to run");
+            }
+            return new SubprocessClient(java.util.List.of(command.trim().split("\\s+")),
+                    100, cfg.getExternalReconnectMaxMillis())
+                    .setMoveTimeoutMillis(cfg.getExternalMoveTimeoutMillis());
+        }
+        if (transport.equals("unix")) {
+            return configure(new UnixSocketClient(java.nio.file.Path.of(cfg.getExternalSocketPath()),
+                    100, cfg.getExternalReconnectMaxMillis(), cfg.getExternalBreakerThreshold(), 10_000));
+        }
+        java.util.List<Endpoint> all = endpoints();
+        if (all.size() > 1) {
+            return new PooledNetwork(all.stream().map(e -> tcp(e.host(), e.port())).toList());
+        }
+        return tcp(host, port);
+    }
+
+    private static ExternalPlayerClient tcp(String host, int port) {
+        TetrisConfig cfg = TetrisConfig.getInstance();
+        return configure(new ExternalPlayerClient(host, port,
+                100, cfg.getExternalReconnectMaxMillis(), cfg.getExternalBreakerThreshold(), 10_000));
+    }
+
+    private static ExternalPlayerClient configure(ExternalPlayerClient client) {
+        client.setHeartbeatMillis(TetrisConfig.getInstance().getExternalHeartbeatMillis());
+        return client;
+    }
+
+    // Wraps the external player with the configured local bot, which steps in when the deadline is close
+    public static Player withFallback(ExternalPlayer ext, LongSupplier deadlineNanos) {
+        if (!TetrisConfig.getInstance().isExternalHedging()) return ext;
+        HedgedPlayer hedged = new HedgedPlayer(ext,
+                BotRegistry.player(TetrisConfig.getInstance().getAiBot()), ext.metrics());
+        hedged.setDeadline(deadlineNanos);
+        return hedged;
+    }
 }
@@ -0,0 +1,214 @@
+package tetris.controller;
+
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+import tetris.model.service.NetworkMetrics;
+import tetris.model.service.SessionMetrics;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Several replicas of one bot behind a single INetwork. Each request goes to the healthy member
+// with the lowest recent round trip, weighted by what is already queued on it. Requests on a
+// member that fails or rejects them are resent to another at once, and the game only hears
+// "lost" once no member is left. Members answer at their own pace, so replies are held back
+// and released in request order, which is what ExternalPlayer expects.
+public class PooledNetwork implements INetwork {
+    private static final double RTT_WEIGHT = 0.2;     // share of each new sample in the running average
+
+    private final List<Member> members = new ArrayList<>();
+    private final SessionMetrics metrics;
+    private final Deque<Request> order = new ArrayDeque<>();  // guarded by this
+    private boolean poolUp;
+    private volatile boolean closed = true;
+    private NetworkListener listener;
+
+    private static final class Request {
+        final PureGame game;
+        Member member;
+        long routedAt;
+        long seq;                                     // its number on the member it was sent to
+        int attempts;
+        OpMove move;
+        Throwable error;
+        Request(PureGame game) { this.game = game; }
+        boolean settled() { return move != null || error != null; }
+    }
+
+    private final class Member implements NetworkListener {
+        final INetwork net;
+        final Deque<Request> outstanding = new ArrayDeque<>();
+        boolean up;
+        double rttNanos;                              // 0 until the first reply, so new members get tried
+        long sent;                                    // sendGameAsync calls made on net
+
+        Member(INetwork net) { this.net = net; }
+
+        boolean usable() { return up && net.isAvailable(); }
+        double cost() { return rttNanos * (1 + outstanding.size()); }
+
+        @Override public void onMoveReceived(OpMove move) { moveFrom(this, move); }
+        @Override public void onProtocolError(String message, Throwable t) { errorFrom(this, t); }
+        @Override public void onSendFailed(long seq, String message, Throwable t) { sendFailedFrom(this, seq, t); }
+        @Override public void onConnectionLost() { lost(this); }
+        @Override public void onConnectionRecovered() { recovered(this); }
+    }
+
+    public PooledNetwork(List<? extends INetwork> replicas) {
+        if (replicas.isEmpty()) throw new IllegalArgumentException("pool needs at least one endpoint");
+        for (INetwork net : replicas) {
+            Member m = new Member(net);
+            net.setListener(m);
+            members.add(m);
+        }
+        this.metrics = NetworkMetrics.session("pool:" + replicas.stream()
+                .map(n -> n.metrics().name()).collect(Collectors.joining(",")));
+    }
+
+    @Override
+    public void connect() {
+        closed = false;
+        for (Member m : members) m.net.connect();   // each reports up or lost to us
+        boolean anyUp;
+        synchronized (this) { anyUp = poolUp; }
+        if (!anyUp && listener != null) listener.onConnectionLost();
+    }
+
+    @Override
+    public synchronized void sendGameAsync(PureGame game) {
+        Request r = new Request(game);
+        order.add(r);
+        route(r, null);
+        release();
+    }
+
+    // Cheapest usable member, preferring any other than `avoid`; ties go to the shorter queue
+    private Member pick(Member avoid) {
+        Member best = null;
+        for (Member m : members) {
+            if (!m.usable() || m == avoid) continue;
+            if (best == null || m.cost() < best.cost()
+                    || (m.cost() == best.cost() && m.outstanding.size() < best.outstanding.size())) {
+                best = m;
+            }
+        }
+        if (best == null && avoid != null && avoid.usable()) best = avoid;
+        return best;
+    }
+
+    private void route(Request r, Member avoid) {
+        Member m = pick(avoid);
+        if (m == null) {
+            r.error = new IOException("no external player available");
+            return;
+        }
+        r.member = m;
+        r.attempts++;
+        r.routedAt = System.nanoTime();
+        r.seq = ++m.sent;
+        m.outstanding.add(r);
+        metrics.onSent(0);
+        m.net.sendGameAsync(r.game);   // may report an error right away, which reroutes
+    }
+
+    private synchronized void moveFrom(Member m, OpMove move) {
+        Request r = m.outstanding.poll();
+        if (r == null) return;                       // request already moved elsewhere
+        long rtt = System.nanoTime() - r.routedAt;
+        m.rttNanos = m.rttNanos == 0 ? rtt : m.rttNanos + RTT_WEIGHT * (rtt - m.rttNanos);
+        metrics.roundTrip().record(rtt);
+        metrics.onMove();
+        r.move = move;
+        release();
+    }
+
+    // A bad reply: it was the answer to the member's oldest request
+    private synchronized void errorFrom(Member m, Throwable t) {
+        Request r = m.outstanding.poll();
+        if (r == null) return;
+        retryOrFail(m, r, t);
+    }
+
+    // A request the member could not send; earlier ones on it are still owed replies
+    private synchronized void sendFailedFrom(Member m, long seq, Throwable t) {
+        for (Request r : m.outstanding) {
+            if (r.seq != seq) continue;
+            m.outstanding.remove(r);
+            retryOrFail(m, r, t);
+            return;
+        }
+    }
+
+    private void retryOrFail(Member m, Request r, Throwable t) {
+        metrics.onProtocolError();
+        if (r.attempts < members.size()) route(r, m);
+        else r.error = t;
+        release();
+    }
+
+    private synchronized void lost(Member m) {
+        m.up = false;
+        List<Request> stranded = new ArrayList<>(m.outstanding);
+        m.outstanding.clear();
+        if (members.stream().noneMatch(Member::usable)) {
+            // ExternalPlayer fails everything it is waiting for when told the connection is gone
+            for (Member other : members) other.outstanding.clear();
+            order.clear();
+            if (poolUp) {
+                poolUp = false;
+                if (listener != null) listener.onConnectionLost();
+            }
+            return;
+        }
+        for (Request r : stranded) route(r, m);
+        release();
+    }
+
+    private synchronized void recovered(Member m) {
+        m.up = true;
+        if (!poolUp && !closed) {
+            poolUp = true;
+            if (listener != null) listener.onConnectionRecovered();
+        }
+    }
+
+    // Hands settled requests to the game, oldest first, stopping at the first one still out
+    private void release() {
+        while (!order.isEmpty() && order.peek().settled()) {
+            Request r = order.poll();
+            if (listener == null) continue;
+            if (r.move != null) listener.onMoveReceived(r.move);
+            else listener.onProtocolError("no replica answered", r.error);
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        closed = true;
+        for (Member m : members) m.net.disconnect();
+        synchronized (this) {
+            for (Member m : members) m.outstanding.clear();
+            order.clear();
+            poolUp = false;
+        }
+        NetworkMetrics.release(metrics);
+    }
+
+    @Override public boolean isConnected() {
+        for (Member m : members) if (m.net.isConnected()) return true;
+        return false;
+    }
+
+    @Override public synchronized boolean isAvailable() {
+        if (closed) return false;
+        for (Member m : members) if (m.usable()) return true;
+        return false;
+    }
+
+    @Override public void setListener(NetworkListener l) { this.listener = l; }
+    @Override public SessionMetrics metrics() { return metrics; }
+}
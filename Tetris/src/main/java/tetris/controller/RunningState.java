@@ -11,7 +11,7 @@ public class RunningState extends BaseState {
 
     @Override public void onTick(long now) {
         c.applyAutoBoostIfNeeded();
-        c.tryReconnectIfNeeded();
+        c.requestExternalIfIdle();
 
         if (c.getLastDropTime() == 0) {
             c.setLastDropTime(now);
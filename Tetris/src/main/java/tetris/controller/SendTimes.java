@@ -0,0 +1,25 @@
+package tetris.controller;
+
+// FIFO of send timestamps without a node per request
+final class SendTimes {
+    private long[] times = new long[64];
+    private int head, size;
+    synchronized void add(long t) {
+        if (size == times.length) {
+            long[] bigger = new long[times.length * 2];
+            for (int k = 0; k < size; k++) bigger[k] = times[(head + k) % times.length];
+            times = bigger; head = 0;
+        }
+        times[(head + size++) % times.length] = t;
+    }
+    synchronized long poll() {          // 0 when empty
+        if (size == 0) return 0;
+        long t = times[head];
+        head = (head + 1) % times.length; size--;
+        return t;
+    }
+    synchronized long peek() { return size == 0 ? 0 : times[head]; }
+    synchronized boolean isEmpty() { return size == 0; }
+    synchronized void dropLast() { if (size > 0) size--; }
+    synchronized void clear() { head = 0; size = 0; }
+}
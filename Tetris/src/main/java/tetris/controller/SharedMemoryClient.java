@@ -0,0 +1,163 @@
+package tetris.controller;
+
+import tetris.ipc.SharedMemoryChannel;
+import tetris.ipc.SpscRing;
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+import tetris.model.service.NetworkMetrics;
+import tetris.model.service.SessionMetrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// External player on the same host through a memory-mapped pair of rings (see SharedMemoryBot
+// for the other end). Sends happen on the caller's thread; a reader spins (or yields) briefly, then parks,
+// waiting for moves. The bot stamps a heartbeat in the file, which stands in for a socket
+// closing: a stale stamp is reported as a lost connection and a fresh one as recovery.
+// connect() only maps the file; the bot's arrival is reported through onConnectionRecovered,
+// or as lost if it has not shown up within ATTACH_WAIT_MILLIS.
+public class SharedMemoryClient implements INetwork {
+    private static final long BOT_TIMEOUT_MILLIS = 1_000;
+    private static final long ATTACH_WAIT_MILLIS = 1_000;
+    private static final long WATCH_MILLIS = 50;
+    private static final long SEND_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final Path path;
+    private final int capacity;
+    private final SessionMetrics metrics;
+    private final SnapshotCodec codec = new SnapshotCodec();   // guarded by this
+    private final SendTimes inFlight = new SendTimes();
+    private long sends;                                         // guarded by this
+
+    private volatile SharedMemoryChannel channel;
+    private volatile boolean closed = true;
+    private volatile boolean botUp;
+    private volatile boolean attachSettled;                     // bot seen, or reported missing
+    private volatile long attachBy;
+    private ScheduledFuture<?> watch;
+    private NetworkListener listener;
+
+    public SharedMemoryClient(Path path) {
+        this(path, 64 * 1024);
+    }
+
+    // capacity: bytes per direction, a power of two
+    public SharedMemoryClient(Path path, int capacity) {
+        this.path = path;
+        this.capacity = capacity;
+        this.metrics = NetworkMetrics.session("shm:" + path);
+    }
+
+    @Override
+    public void connect() {
+        if (!closed) return;
+        try {
+            channel = SharedMemoryChannel.create(path, capacity);
+        } catch (IOException e) {
+            metrics.onConnectFailed();
+            System.out.println("[shm] cannot map " + path + ": " + e);
+            if (listener != null) listener.onConnectionLost();
+            return;
+        }
+        closed = false;
+        attachSettled = false;
+        attachBy = System.currentTimeMillis() + ATTACH_WAIT_MILLIS;
+        Thread reader = new Thread(this::readLoop, "shm-read-" + path); // spins, so not a virtual thread
+        reader.setDaemon(true);
+        reader.start();
+        // A running bot needs a moment to notice the fresh file; the watch reports it either way
+        watch = NetThreads.every("shm-watch-" + path, WATCH_MILLIS, TimeUnit.MILLISECONDS, this::checkBot);
+    }
+
+    private boolean botAlive() {
+        SharedMemoryChannel ch = channel;
+        return ch != null && System.currentTimeMillis() - ch.botSeenMillis() < BOT_TIMEOUT_MILLIS;
+    }
+
+    private synchronized void checkBot() {
+        if (closed) return;
+        boolean alive = botAlive();
+        if (alive && !botUp) {
+            botUp = true;
+            attachSettled = true;
+            metrics.onConnected();
+            if (listener != null) listener.onConnectionRecovered();
+        } else if (!alive && !attachSettled && System.currentTimeMillis() >= attachBy) {
+            attachSettled = true;
+            if (listener != null) listener.onConnectionLost();
+        } else if (!alive && botUp) {
+            botUp = false;
+            inFlight.clear();
+            if (listener != null) listener.onConnectionLost();
+        }
+    }
+
+    private void readLoop() {
+        SharedMemoryChannel ch = channel;
+        SpscRing ring = ch.toGame();
+        byte[] in = new byte[ring.maxRecord()];
+        while (!closed) {
+            int n = ring.take(in, TimeUnit.MILLISECONDS.toNanos(100));
+            if (n < 0) continue;
+            metrics.onReceived(n);
+            OpMove mv = new OpMove();
+            int kind;
+            try {
+                kind = SnapshotCodec.decode(in, 0, n, mv);
+            } catch (IllegalArgumentException e) {
+                inFlight.poll();
+                metrics.onProtocolError();
+                if (listener != null) listener.onProtocolError("bad reply", e);
+                continue;
+            }
+            if (kind == SnapshotCodec.PONG) continue;
+            long sentAt = inFlight.poll();
+            if (sentAt != 0) metrics.roundTrip().record(System.nanoTime() - sentAt);
+            metrics.onMove();
+            if (listener != null) listener.onMoveReceived(mv);
+        }
+    }
+
+    @Override
+    public synchronized void sendGameAsync(PureGame game) {
+        long seq = ++sends;
+        SharedMemoryChannel ch = channel;
+        if (closed || ch == null || !botUp) {
+            if (listener != null) listener.onSendFailed(seq, "bot not attached", new IOException("bot not attached"));
+            return;
+        }
+        long t0 = System.nanoTime();
+        int n = codec.encode(game) - 1;                        // records carry no newline
+        metrics.serialize().record(System.nanoTime() - t0);
+        inFlight.add(System.nanoTime());
+        if (!ch.toBot().put(codec.array(), 0, n, SEND_TIMEOUT_NANOS)) {
+            inFlight.dropLast();
+            metrics.onProtocolError();
+            if (listener != null) listener.onSendFailed(seq, "bot is not draining snapshots", new IOException("ring full"));
+            return;
+        }
+        metrics.onSent(n);
+    }
+
+    @Override
+    public void disconnect() {
+        closed = true;
+        botUp = false;
+        if (watch != null) watch.cancel(false);
+        watch = null;
+        SharedMemoryChannel ch = channel;
+        channel = null;
+        if (ch != null) {
+            try { ch.close(); } catch (IOException ignored) {}
+        }
+        NetworkMetrics.release(metrics);
+    }
+
+    @Override public boolean isConnected() { return !closed && botUp; }
+    @Override public boolean isAvailable() { return isConnected(); }
+    @Override public boolean isAttaching() { return !closed && !attachSettled; }
+    @Override public void setListener(NetworkListener l) { this.listener = l; }
+    @Override public SessionMetrics metrics() { return metrics; }
+}
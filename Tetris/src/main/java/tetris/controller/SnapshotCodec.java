@@ -0,0 +1,236 @@
+package tetris.controller;
+
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+
+import java.util.Arrays;
+
+// Allocation-free codec for the line protocol. Snapshots are written into one reusable
+// buffer with the same bytes Jackson produces; replies are parsed straight from bytes.
+// Not thread-safe: give each writer its own instance.
+public final class SnapshotCodec {
+    public static final int MOVE = 0;
+    public static final int PONG = 1;
+
+    private static final byte[] WIDTH = ascii("{\"width\":");
+    private static final byte[] HEIGHT = ascii(",\"height\":");
+    private static final byte[] CELLS = ascii(",\"cells\":");
+    private static final byte[] CURRENT = ascii(",\"currentShape\":");
+    private static final byte[] NEXT = ascii(",\"nextShape\":");
+    private static final byte[] PING = ascii("{\"ping\":");
+    private static final byte[] NULL = ascii("null");
+
+    private static final byte[] OP_X = ascii("opX");
+    private static final byte[] OP_ROTATE = ascii("opRotate");
+    private static final byte[] PONG_KEY = ascii("pong");
+    private static final byte[] PLAN_NEXT = ascii("next");
+    private static final byte[] PLAN_EXPECT = ascii("expect");
+
+    private byte[] buf = new byte[1024];
+    private int len;
+
+    public byte[] array() { return buf; }
+    public int length()   { return len; }
+
+    // Encodes one snapshot line (with trailing newline); returns its length
+    public int encode(PureGame g) {
+        len = 0;
+        put(WIDTH); putInt(g.width);
+        put(HEIGHT); putInt(g.height);
+        put(CELLS); putGrid(g.cells);
+        put(CURRENT); putGrid(g.currentShape);
+        put(NEXT); putGrid(g.nextShape);
+        putByte('}'); putByte('\n');
+        return len;
+    }
+
+    public int encodePing(long seq) {
+        len = 0;
+        put(PING); putLong(seq);
+        putByte('}'); putByte('\n');
+        return len;
+    }
+
+    private void putGrid(int[][] grid) {
+        if (grid == null) { put(NULL); return; }
+        putByte('[');
+        for (int r = 0; r < grid.length; r++) {
+            if (r > 0) putByte(',');
+            int[] row = grid[r];
+            if (row == null) { put(NULL); continue; }
+            putByte('[');
+            for (int c = 0; c < row.length; c++) {
+                if (c > 0) putByte(',');
+                putInt(row[c]);
+            }
+            putByte(']');
+        }
+        putByte(']');
+    }
+
+    private void putInt(int v) { putLong(v); }
+
+    private void putLong(long v) {
+        if (v == 0) { putByte('0'); return; }
+        if (v < 0) {
+            putByte('-');
+            if (v == Long.MIN_VALUE) { put(ascii("9223372036854775808")); return; }
+            v = -v;
+        }
+        int digits = 0;
+        for (long t = v; t > 0; t /= 10) digits++;
+        ensure(digits);
+        for (int i = len + digits - 1; i >= len; i--) { buf[i] = (byte) ('0' + v % 10); v /= 10; }
+        len += digits;
+    }
+
+    private void put(byte[] b) {
+        ensure(b.length);
+        System.arraycopy(b, 0, buf, len, b.length);
+        len += b.length;
+    }
+
+    private void putByte(int b) {
+        ensure(1);
+        buf[len++] = (byte) b;
+    }
+
+    private void ensure(int extra) {
+        if (len + extra > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+    }
+
+    // Parses one reply line from b[off, off+n) into `into`. Unknown keys are skipped.
+    // Returns MOVE or PONG; throws IllegalArgumentException on malformed input.
+    public static int decode(byte[] b, int off, int n, OpMove into) {
+        Cursor c = new Cursor(b, off, off + n);
+        return c.object(into);
+    }
+
+    // Cursor over one line; tiny and short-lived, so escape analysis usually removes it
+    private static final class Cursor {
+        final byte[] b; int i; final int end;
+        Cursor(byte[] b, int i, int end) { this.b = b; this.i = i; this.end = end; }
+
+        int object(OpMove into) {
+            return trailing(body(into));
+        }
+
+        // One {...} move; "next" nests another, so plans can run several pieces ahead
+        int body(OpMove into) {
+            int kind = MOVE;
+            into.opX = 0; into.opRotate = 0; into.next = null; into.expect = null;
+            expect('{');
+            if (peek() == '}') { i++; return kind; }
+            while (true) {
+                expect('"');
+                int ks = i;
+                while (i < end && b[i] != '"') { if (b[i] == '\\') i++; i++; }
+                int ke = i;
+                expect('"');
+                expect(':');
+                if (keyIs(ks, ke, OP_X)) into.opX = (int) number();
+                else if (keyIs(ks, ke, OP_ROTATE)) into.opRotate = (int) number();
+                else if (keyIs(ks, ke, PONG_KEY)) { number(); kind = PONG; }
+                else if (keyIs(ks, ke, PLAN_NEXT) && peek() == '{') { into.next = new OpMove(); body(into.next); }
+                else if (keyIs(ks, ke, PLAN_EXPECT) && peek() == '[') into.expect = ints();
+                else skipValue();
+                int ch = next();
+                if (ch == '}') return kind;
+                if (ch != ',') throw bad();
+            }
+        }
+
+        int[] ints() {
+            expect('[');
+            int[] out = new int[16];
+            int count = 0;
+            if (peek() == ']') { i++; return new int[0]; }
+            while (true) {
+                if (count == out.length) out = Arrays.copyOf(out, count * 2);
+                out[count++] = (int) number();
+                int ch = next();
+                if (ch == ']') return Arrays.copyOf(out, count);
+                if (ch != ',') throw bad();
+            }
+        }
+
+        int trailing(int kind) {
+            skipWs();
+            if (i != end) throw bad();
+            return kind;
+        }
+
+        boolean keyIs(int s, int e, byte[] key) {
+            if (e - s != key.length) return false;
+            for (int k = 0; k < key.length; k++) if (b[s + k] != key[k]) return false;
+            return true;
+        }
+
+        long number() {
+            skipWs();
+            boolean neg = false;
+            if (i < end && b[i] == '-') { neg = true; i++; }
+            int start = i;
+            long v = 0;
+            while (i < end && b[i] >= '0' && b[i] <= '9') v = v * 10 + (b[i++] - '0');
+            if (i == start) throw bad();
+            if (i < end && (b[i] == '.' || b[i] == 'e' || b[i] == 'E')) throw bad();
+            return neg ? -v : v;
+        }
+
+        void skipValue() {
+            skipWs();
+            if (i >= end) throw bad();
+            int ch = b[i];
+            if (ch == '"') { skipString(); return; }
+            if (ch == '{' || ch == '[') {
+                int depth = 0;
+                while (i < end) {
+                    int x = b[i];
+                    if (x == '"') { skipString(); continue; }
+                    i++;
+                    if (x == '{' || x == '[') depth++;
+                    else if ((x == '}' || x == ']') && --depth == 0) return;
+                }
+                throw bad();
+            }
+            int start = i;
+            while (i < end && b[i] != ',' && b[i] != '}' && b[i] != ']' && b[i] > ' ') i++;
+            if (i == start) throw bad();
+        }
+
+        void skipString() {
+            i++; // opening quote
+            while (i < end && b[i] != '"') { if (b[i] == '\\') i++; i++; }
+            if (i >= end) throw bad();
+            i++;
+        }
+
+        void expect(int ch) {
+            if (next() != ch) throw bad();
+        }
+
+        int next() {
+            skipWs();
+            if (i >= end) throw bad();
+            return b[i++];
+        }
+
+        int peek() {
+            skipWs();
+            return i < end ? b[i] : -1;
+        }
+
+        void skipWs() {
+            while (i < end && (b[i] == ' ' || b[i] == '\t' || b[i] == '\r')) i++;
+        }
+
+        IllegalArgumentException bad() {
+            return new IllegalArgumentException("malformed reply at byte " + i);
+        }
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,65 @@
+package tetris.controller;
+
+import javafx.scene.media.AudioClip;
+import tetris.config.TetrisConfig;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Short sound effects, each decoded once into an AudioClip shared by every pane. AudioClip
+// mixes its own voices and may be played from any thread, so the simulation thread calls
+// play() directly. Repeats of one effect closer than MIN_GAP_NANOS are dropped, so key repeat
+// cannot pile up voices. Background music stays a MediaPlayer, which streams.
+public final class SoundService {
+    public static final String MOVE_TURN   = "/sounds/move-turn.wav";
+    public static final String ERASE_LINE  = "/sounds/erase-line.wav";
+    public static final String GAME_FINISH = "/sounds/game-finish.wav";
+
+    private static final long MIN_GAP_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final Map<String, Optional<AudioClip>> clips = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> lastPlayed = new ConcurrentHashMap<>();
+
+    private SoundService() {}
+
+    // Loads the game's effects up front so the first key press does not stall on decoding
+    public static void preloadAll() {
+        preload(MOVE_TURN, ERASE_LINE, GAME_FINISH);
+    }
+
+    public static void preload(String... resources) {
+        for (String r : resources) clip(r);
+    }
+
+    // No-op while sound effects are off in the config
+    public static void play(String resource) {
+        if (!TetrisConfig.getInstance().isSoundEffect()) return;
+        if (!admit(resource, System.nanoTime())) return;
+        clip(resource).ifPresent(AudioClip::play);
+    }
+
+    static boolean admit(String resource, long nowNanos) {
+        AtomicLong last = lastPlayed.computeIfAbsent(resource, k -> new AtomicLong(nowNanos - MIN_GAP_NANOS));
+        long prev = last.get();
+        return nowNanos - prev >= MIN_GAP_NANOS && last.compareAndSet(prev, nowNanos);
+    }
+
+    private static Optional<AudioClip> clip(String resource) {
+        return clips.computeIfAbsent(resource, r -> {
+            URL url = SoundService.class.getResource(r);
+            if (url == null) {
+                System.err.println("[sound] " + r + " not found");
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(new AudioClip(url.toExternalForm()));
+            } catch (RuntimeException e) {
+                System.err.println("[sound] cannot load " + r + ": " + e);
+                return Optional.empty();
+            }
+        });
+    }
+}
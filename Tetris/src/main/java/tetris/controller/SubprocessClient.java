@@ -0,0 +1,243 @@
+package tetris.controller;
+
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+import tetris.model.service.NetworkMetrics;
+import tetris.model.service.SessionMetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// External player run as a child process: one snapshot line per request on its stdin, one move
+// line back on its stdout, in order, so several requests may be in flight at once. A bot that
+// exits, or sits on the oldest request past the move deadline, is killed and restarted with
+// jittered backoff. Replies are matched by position, so a hung bot cannot just skip one.
+// Bots should exit when stdin closes; that is how they learn the game went away.
+public class SubprocessClient implements INetwork {
+    private final List<String> command;
+    private final String name;
+    private final ExecutorService io;                 // one virtual writer keeps sends ordered
+    private final SnapshotCodec codec = new SnapshotCodec(); // owned by the io thread
+    private final SessionMetrics metrics;
+    private final SendTimes inFlight = new SendTimes();
+    private final AtomicLong sends = new AtomicLong();      // numbers requests for onSendFailed
+    private final Backoff backoff;
+    private final AtomicBoolean outage = new AtomicBoolean(false);
+    private final AtomicBoolean restartPending = new AtomicBoolean(false);
+
+    private long moveTimeoutMillis = 1_000;
+    private ScheduledFuture<?> watchdog;
+    private ScheduledFuture<?> restart;
+    private volatile boolean closed = true;
+    private volatile Bot bot;
+    private NetworkListener listener;
+
+    // One running bot; replaced wholesale on restart
+    private static final class Bot {
+        final Process process; final OutputStream out; final LineReader in;
+        Bot(Process process) {
+            this.process = process;
+            this.out = process.getOutputStream();
+            this.in = new LineReader(process.getInputStream());
+        }
+        boolean isAlive() { return process.isAlive(); }
+        void kill() {
+            try { out.close(); } catch (IOException ignored) {}
+            process.destroyForcibly();
+        }
+    }
+
+    public SubprocessClient(List<String> command) {
+        this(command, 100, 5_000);
+    }
+
+    public SubprocessClient(List<String> command, long restartBaseMillis, long restartMaxMillis) {
+        this.command = List.copyOf(command);
+        this.name = "proc:" + String.join(" ", command);
+        this.io = NetThreads.serial("proc-io-" + command.get(0));
+        this.metrics = NetworkMetrics.session(name);
+        this.backoff = new Backoff(restartBaseMillis, restartMaxMillis);
+    }
+
+    // Longest the bot may take on its oldest request before it is restarted; 0 = no limit
+    public SubprocessClient setMoveTimeoutMillis(long millis) {
+        this.moveTimeoutMillis = Math.max(0, millis);
+        return this;
+    }
+
+    @Override
+    public void connect() {
+        if (!closed) return;
+        closed = false;
+        if (spawn()) {
+            if (listener != null) listener.onConnectionRecovered();
+        } else {
+            botFailed(null);
+        }
+        if (moveTimeoutMillis > 0) {
+            long period = Math.max(10, Math.min(100, moveTimeoutMillis / 4));
+            watchdog = NetThreads.every("proc-watchdog-" + command.get(0), period, TimeUnit.MILLISECONDS, this::checkDeadline);
+        }
+    }
+
+    private synchronized boolean spawn() {
+        if (closed) return false;
+        try {
+            Process p = new ProcessBuilder(command)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            Bot b = new Bot(p);
+            inFlight.clear();
+            bot = b;
+            metrics.onConnected();
+            System.out.println("[proc] started " + name + " (pid " + p.pid() + ")");
+            NetThreads.start("proc-read-" + p.pid(), () -> readLoop(b));
+            return true;
+        } catch (IOException e) {
+            metrics.onConnectFailed();
+            System.out.println("[proc] cannot start " + name + ": " + e);
+            return false;
+        }
+    }
+
+    private void readLoop(Bot b) {
+        try {
+            int n;
+            while (!closed && (n = b.in.next()) >= 0) {
+                metrics.onReceived(n + 1);
+                OpMove mv = new OpMove();
+                int kind;
+                try {
+                    kind = SnapshotCodec.decode(b.in.array(), b.in.lineStart(), n, mv);
+                } catch (IllegalArgumentException e) {
+                    // Bots often log to stdout by mistake; skip the line rather than lose sync
+                    metrics.onProtocolError();
+                    System.out.println("[proc] ignoring output: "
+                            + new String(b.in.array(), b.in.lineStart(), n, StandardCharsets.UTF_8));
+                    continue;
+                }
+                if (kind == SnapshotCodec.PONG) continue;
+                long sentAt = inFlight.poll();
+                if (sentAt != 0) metrics.roundTrip().record(System.nanoTime() - sentAt);
+                backoff.reset();
+                metrics.onMove();
+                if (listener != null) listener.onMoveReceived(mv);
+            }
+        } catch (IOException e) {
+            System.out.println("[proc] read failed: " + e);
+        } finally {
+            if (!closed && bot == b) botFailed(b);
+        }
+    }
+
+    // Oldest request past the deadline means the bot is stuck (or far too slow) on it
+    private void checkDeadline() {
+        Bot b = bot;
+        long oldest = inFlight.peek();
+        if (closed || b == null || oldest == 0) return;
+        if (System.nanoTime() - oldest > TimeUnit.MILLISECONDS.toNanos(moveTimeoutMillis)) {
+            System.out.println("[proc] no move within " + moveTimeoutMillis + " ms; restarting bot");
+            metrics.onProtocolError();
+            botFailed(b);
+        }
+    }
+
+    // Kills `b` (null if it never started), reports the outage once and schedules a restart
+    private void botFailed(Bot b) {
+        synchronized (this) {
+            if (b != null && bot != b) return;      // already handled
+            if (b != null) {
+                b.kill();
+                bot = null;
+                System.out.println("[proc] bot exited" + (b.process.isAlive() ? "" : " with " + exitCode(b)));
+            }
+            inFlight.clear();
+        }
+        if (outage.compareAndSet(false, true) && listener != null) listener.onConnectionLost();
+        scheduleRestart();
+    }
+
+    private static String exitCode(Bot b) {
+        try { return "code " + b.process.exitValue(); } catch (IllegalThreadStateException e) { return "unknown code"; }
+    }
+
+    private synchronized void scheduleRestart() {
+        if (closed || !restartPending.compareAndSet(false, true)) return;
+        restart = NetThreads.after("proc-restart-" + command.get(0),
+                backoff.nextDelayMillis(), TimeUnit.MILLISECONDS, this::restartNow);
+    }
+
+    private void restartNow() {
+        restartPending.set(false);
+        if (closed) return;
+        if (!spawn()) {
+            botFailed(null);
+            return;
+        }
+        if (outage.compareAndSet(true, false) && listener != null) listener.onConnectionRecovered();
+    }
+
+    @Override
+    public void sendGameAsync(PureGame game) {
+        long seq = sends.incrementAndGet();
+        try {
+            io.submit(() -> writeSnapshot(game, seq));
+        } catch (RejectedExecutionException e) {
+            System.out.println("[proc] session closed; dropping snapshot");
+            if (listener != null) listener.onSendFailed(seq, "session closed", new IOException("session closed"));
+        }
+    }
+
+    private void writeSnapshot(PureGame game, long seq) {
+        Bot b = bot;
+        if (b == null || !b.isAlive()) {
+            if (listener != null) listener.onSendFailed(seq, "bot not running", new IOException("bot not running"));
+            return;
+        }
+        long t0 = System.nanoTime();
+        int n = codec.encode(game);
+        metrics.serialize().record(System.nanoTime() - t0);
+        inFlight.add(System.nanoTime());
+        try {
+            b.out.write(codec.array(), 0, n);
+            b.out.flush();
+            metrics.onSent(n);
+        } catch (IOException e) {
+            // A dead pipe also ends the reader, which restarts the bot
+            System.out.println("[proc] write failed: " + e);
+            inFlight.dropLast();
+            if (listener != null) listener.onSendFailed(seq, "send failed", e);
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        closed = true;
+        synchronized (this) {
+            if (watchdog != null) watchdog.cancel(false);
+            if (restart != null) restart.cancel(false);
+            watchdog = null; restart = null;
+            Bot b = bot;
+            bot = null;
+            if (b != null) b.kill();
+        }
+        io.shutdownNow();
+        NetworkMetrics.release(metrics);
+    }
+
+    @Override public boolean isConnected() {
+        Bot b = bot;
+        return !closed && b != null && b.isAlive();
+    }
+    @Override public boolean isAvailable() { return isConnected(); }
+    @Override public void setListener(NetworkListener l) { this.listener = l; }
+    @Override public SessionMetrics metrics() { return metrics; }
+}
@@ -0,0 +1,39 @@
+package tetris.controller;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Hands frames from one writer thread to one reader thread without locks or allocation.
+// Three preallocated slots: the writer fills its back slot and swaps it with the middle one;
+// the reader swaps its front slot with the middle one when a fresh frame is waiting. Neither
+// side ever touches the slot the other one holds, so a frame is never read half-written.
+public final class TripleBuffer<T> {
+    private static final int FRESH = 4;               // set while the middle slot is unread
+
+    private final Object[] slots;
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;                             // writer's slot
+    private int front = 2;                            // reader's slot
+
+    public TripleBuffer(Supplier<T> factory) {
+        slots = new Object[] { factory.get(), factory.get(), factory.get() };
+    }
+
+    // Writer: the slot to fill next; it may hold an old frame
+    @SuppressWarnings("unchecked")
+    public T back() { return (T) slots[back]; }
+
+    // Writer: makes the back slot the newest frame
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & 3;
+    }
+
+    // Reader: the newest frame if one was published since the last poll, else null.
+    // The frame stays valid until the next poll that returns non-null.
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        if ((middle.get() & FRESH) == 0) return null;
+        front = middle.getAndSet(front) & 3;
+        return (T) slots[front];
+    }
+}
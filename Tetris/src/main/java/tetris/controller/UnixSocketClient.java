@@ -0,0 +1,20 @@
+package tetris.controller;
+
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Path;
+
+// Same session, framing and recovery as the TCP client, over a Unix domain socket for
+// players on the same host: no loopback TCP stack, no ports to hand out.
+public class UnixSocketClient extends ExternalPlayerClient {
+
+    public UnixSocketClient(Path socketFile) {
+        this(socketFile, 100, 5_000, 5, 10_000);
+    }
+
+    public UnixSocketClient(Path socketFile,
+                            long reconnectBaseMillis, long reconnectMaxMillis,
+                            int breakerThreshold, long breakerCooldownMillis) {
+        super(UnixDomainSocketAddress.of(socketFile), "unix:" + socketFile,
+                reconnectBaseMillis, reconnectMaxMillis, breakerThreshold, breakerCooldownMillis);
+    }
+}
@@ -0,0 +1,127 @@
+package tetris.ipc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import tetris.controller.AIPlayer;
+import tetris.model.ai.BetterHeuristic;
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Reference bot side of the shared-memory transport. Waits for the game's file, then answers
+// every snapshot with the brain's move; reattaches if the game resets the file.
+// Records carry the same JSON as the socket protocol, without the newline.
+//   java -cp Tetris.jar tetris.ipc.SharedMemoryBot /tmp/tetris-player.shm
+public class SharedMemoryBot implements Runnable {
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50); // also the heartbeat period
+
+    private final Path path;
+    private final Function<PureGame, OpMove> brain;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private byte[] reply = new byte[512];                       // grows for wide boards' plans
+    private volatile boolean running = true;
+
+    public SharedMemoryBot(Path path, Function<PureGame, OpMove> brain) {
+        this.path = path;
+        this.brain = brain;
+    }
+
+    public void stop() { running = false; }
+
+    @Override
+    public void run() {
+        while (running) {
+            try (SharedMemoryChannel ch = attach()) {
+                if (ch == null) return;
+                serve(ch);
+            } catch (IOException e) {
+                System.out.println("[shm-bot] " + e);
+                sleepQuietly(100);
+            }
+        }
+    }
+
+    private SharedMemoryChannel attach() throws IOException {
+        while (running) {
+            SharedMemoryChannel ch = SharedMemoryChannel.open(path);
+            if (ch != null) return ch;
+            sleepQuietly(20);
+        }
+        return null;
+    }
+
+    private void serve(SharedMemoryChannel ch) throws IOException {
+        byte[] in = new byte[ch.toBot().maxRecord()];
+        while (running && !ch.isStale()) {
+            ch.markBotAlive();
+            int n = ch.toBot().take(in, POLL_NANOS);
+            if (n < 0) continue;
+            OpMove mv = brain.apply(mapper.readValue(in, 0, n, PureGame.class));
+            int len = encode(mv, 0);
+            if (len > ch.toGame().maxRecord()) {
+                System.out.println("[shm-bot] reply of " + len + " bytes does not fit the ring; dropping it");
+                continue;
+            }
+            if (!ch.toGame().put(reply, 0, len, TimeUnit.SECONDS.toNanos(1))) {
+                System.out.println("[shm-bot] game is not draining moves; dropping one");
+            }
+        }
+    }
+
+    // {"opX":n,"opRotate":n} plus any plan: ,"next":{...,"expect":[h,...]}
+    private int encode(OpMove mv, int i) {
+        i = ascii("{\"opX\":", i);
+        i = number(mv.opX, i);
+        i = ascii(",\"opRotate\":", i);
+        i = number(mv.opRotate, i);
+        if (mv.expect != null) {
+            i = ascii(",\"expect\":[", i);
+            for (int k = 0; k < mv.expect.length; k++) {
+                if (k > 0) i = put(',', i);
+                i = number(mv.expect[k], i);
+            }
+            i = put(']', i);
+        }
+        if (mv.next != null) {
+            i = ascii(",\"next\":", i);
+            i = encode(mv.next, i);
+        }
+        return put('}', i);
+    }
+
+    private int ascii(String s, int i) {
+        ensure(i + s.length());
+        for (int k = 0; k < s.length(); k++) reply[i++] = (byte) s.charAt(k);
+        return i;
+    }
+
+    private int put(char c, int i) {
+        ensure(i + 1);
+        reply[i] = (byte) c;
+        return i + 1;
+    }
+
+    private void ensure(int size) {
+        if (size > reply.length) reply = Arrays.copyOf(reply, Math.max(reply.length * 2, size));
+    }
+
+    private int number(int v, int i) {
+        String s = Integer.toString(v); // two small ints per move
+        return ascii(s, i);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try { Thread.sleep(millis); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+
+    public static void main(String[] args) {
+        Path file = Path.of(args.length > 0 ? args[0] : "/tmp/tetris-player.shm");
+        AIPlayer ai = new AIPlayer(new BetterHeuristic());
+        System.out.println("[shm-bot] waiting for " + file);
+        new SharedMemoryBot(file, ai::computePlan).run();
+    }
+}
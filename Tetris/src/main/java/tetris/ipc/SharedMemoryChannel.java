@@ -0,0 +1,97 @@
+package tetris.ipc;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Two SPSC rings in one memory-mapped file: snapshots game -> bot and moves bot -> game.
+// The game creates (or resets) the file; a bot opens it once the magic word is there.
+//
+// File header (64 bytes): magic:4 capacity:4 botSeenMillis:8 generation:8
+public final class SharedMemoryChannel implements AutoCloseable {
+    private static final int MAGIC = 0x54545231;      // "TTR1"
+    private static final int FILE_HEADER = 64;
+    private static final int MAGIC_AT = 0, CAPACITY_AT = 4, BOT_SEEN_AT = 8, GENERATION_AT = 16;
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel file;
+    private final MappedByteBuffer map;
+    private final SpscRing toBot, toGame;
+    private final long generation;
+
+    private SharedMemoryChannel(FileChannel file, MappedByteBuffer map, int capacity) {
+        this.file = file;
+        this.map = map;
+        this.generation = (long) LONGS.getAcquire(map, GENERATION_AT);
+        int ring = SpscRing.bytesFor(capacity);
+        this.toBot = new SpscRing(map.slice(FILE_HEADER, ring));
+        this.toGame = new SpscRing(map.slice(FILE_HEADER + ring, ring));
+    }
+
+    // Game side: maps the file and starts both rings empty under a new generation
+    public static SharedMemoryChannel create(Path path, int capacity) throws IOException {
+        FileChannel fc = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = FILE_HEADER + 2L * SpscRing.bytesFor(capacity);
+            MappedByteBuffer m = fc.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            m.order(ByteOrder.nativeOrder());
+            INTS.setRelease(m, MAGIC_AT, 0);           // readers back off while we reset
+            for (int i = FILE_HEADER; i < size; i += SpscRing.HEADER + capacity) {
+                for (int k = 0; k < SpscRing.HEADER; k += 8) m.putLong(i + k, 0L);
+            }
+            m.putInt(CAPACITY_AT, capacity);
+            m.putLong(BOT_SEEN_AT, 0L);
+            LONGS.setRelease(m, GENERATION_AT, ThreadLocalRandom.current().nextLong());
+            INTS.setRelease(m, MAGIC_AT, MAGIC);
+            return new SharedMemoryChannel(fc, m, capacity);
+        } catch (IOException | RuntimeException e) {
+            fc.close();
+            throw e;
+        }
+    }
+
+    // Bot side: null until the game has created the file
+    public static SharedMemoryChannel open(Path path) throws IOException {
+        if (!path.toFile().exists()) return null;
+        FileChannel fc = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (fc.size() < FILE_HEADER) { fc.close(); return null; }
+            MappedByteBuffer head = fc.map(FileChannel.MapMode.READ_WRITE, 0, FILE_HEADER);
+            head.order(ByteOrder.nativeOrder());
+            if ((int) INTS.getAcquire(head, MAGIC_AT) != MAGIC) { fc.close(); return null; }
+            int capacity = head.getInt(CAPACITY_AT);
+            long size = FILE_HEADER + 2L * SpscRing.bytesFor(capacity);
+            if (fc.size() < size) { fc.close(); return null; }
+            MappedByteBuffer m = fc.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            m.order(ByteOrder.nativeOrder());
+            return new SharedMemoryChannel(fc, m, capacity);
+        } catch (IOException | RuntimeException e) {
+            fc.close();
+            throw e;
+        }
+    }
+
+    public SpscRing toBot()  { return toBot; }
+    public SpscRing toGame() { return toGame; }
+
+    // The bot stamps this while it is attached; the game treats a stale stamp as a lost peer
+    public void markBotAlive()  { LONGS.setRelease(map, BOT_SEEN_AT, System.currentTimeMillis()); }
+    public long botSeenMillis() { return (long) LONGS.getAcquire(map, BOT_SEEN_AT); }
+
+    // True once the game has reset the file, so a bot must reopen it
+    public boolean isStale() {
+        return (int) INTS.getAcquire(map, MAGIC_AT) != MAGIC || (long) LONGS.getAcquire(map, GENERATION_AT) != generation;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close(); // the mapping itself is released with the buffer
+    }
+}
@@ -0,0 +1,127 @@
+package tetris.ipc;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Single-producer/single-consumer queue of byte records inside one ByteBuffer, which may be
+// a memory-mapped file shared with another process. Each side owns one counter and only
+// reads the other's with acquire semantics, so no locks cross the process boundary.
+//
+// Layout: [head:8][pad to 64][tail:8][pad to 128][unused to HEADER][data: capacity bytes]
+// A record is [len:4][bytes], 8-byte aligned; len == PAD means "skip to the start".
+public final class SpscRing {
+    public static final int HEADER = 128;
+    private static final int HEAD = 0, TAIL = 64;
+    private static final int PAD = -1;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    // Busy-wait first, since a local bot usually answers in microseconds; on one core spinning
+    // only delays the peer, so go straight to yielding
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 2_000 : 0;
+    private static final int YIELDS = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final ByteBuffer buf;
+    private final int capacity;
+    private final int mask;
+    private long localHead, localTail;               // each side's own counter, cached
+
+    // `region` must be HEADER + a power-of-two capacity bytes, 8-byte aligned
+    public SpscRing(ByteBuffer region) {
+        this.buf = region.order(ByteOrder.nativeOrder());
+        this.capacity = region.capacity() - HEADER;
+        if (capacity < 16 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("ring capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.localHead = (long) LONGS.getAcquire(buf, HEAD);
+        this.localTail = (long) LONGS.getAcquire(buf, TAIL);
+    }
+
+    public static int bytesFor(int capacity) { return HEADER + capacity; }
+
+    public int maxRecord() { return capacity - 8; }
+
+    // Producer side; false if the record does not fit right now
+    public boolean offer(byte[] src, int off, int len) {
+        int need = align(4 + len);
+        if (need > capacity) throw new IllegalArgumentException("record too large: " + len);
+        long tail = (long) LONGS.getAcquire(buf, TAIL);
+        long head = localHead;
+        int idx = (int) (head & mask);
+        int toEnd = capacity - idx;
+        if (need > toEnd) {
+            // Publish the wrap on its own so a big record can always get to the start
+            if (head + toEnd - tail > capacity) return false;
+            buf.putInt(HEADER + idx, PAD);
+            head += toEnd;
+            idx = 0;
+            localHead = head;
+            LONGS.setRelease(buf, HEAD, head);
+        }
+        if (head + need - tail > capacity) return false;
+        buf.put(HEADER + idx + 4, src, off, len);
+        buf.putInt(HEADER + idx, len);
+        localHead = head + need;
+        LONGS.setRelease(buf, HEAD, localHead);      // publishes the bytes written above
+        return true;
+    }
+
+    // Consumer side; copies the next record into dst and returns its length, or -1 if empty.
+    // dst must hold maxRecord() bytes.
+    public int poll(byte[] dst) {
+        while (true) {
+            long head = (long) LONGS.getAcquire(buf, HEAD);
+            long tail = localTail;
+            if (tail == head) return -1;
+            int idx = (int) (tail & mask);
+            int len = buf.getInt(HEADER + idx);
+            if (len == PAD) {
+                localTail = tail + (capacity - idx);
+                LONGS.setRelease(buf, TAIL, localTail);
+                continue;
+            }
+            buf.get(HEADER + idx + 4, dst, 0, len);
+            localTail = tail + align(4 + len);
+            LONGS.setRelease(buf, TAIL, localTail);  // hands the space back to the producer
+            return len;
+        }
+    }
+
+    // Spin, yield, then park with growing pauses, until a record arrives or the timeout passes
+    public int take(byte[] dst, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        long park = 1_000;
+        for (int i = 0; ; i++) {
+            int n = poll(dst);
+            if (n >= 0) return n;
+            if (i < SPINS) { Thread.onSpinWait(); continue; }
+            if (i < SPINS + YIELDS) { Thread.yield(); continue; }
+            long left = deadline - System.nanoTime();
+            if (left <= 0) return -1;
+            LockSupport.parkNanos(Math.min(park, left));
+            park = Math.min(park * 2, MAX_PARK_NANOS);
+        }
+    }
+
+    // Same waiting scheme for a full ring
+    public boolean put(byte[] src, int off, int len, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        long park = 1_000;
+        for (int i = 0; ; i++) {
+            if (offer(src, off, len)) return true;
+            if (i < SPINS) { Thread.onSpinWait(); continue; }
+            if (i < SPINS + YIELDS) { Thread.yield(); continue; }
+            long left = deadline - System.nanoTime();
+            if (left <= 0) return false;
+            LockSupport.parkNanos(Math.min(park, left));
+            park = Math.min(park * 2, MAX_PARK_NANOS);
+        }
+    }
+
+    private static int align(int n) { return (n + 7) & ~7; }
+}
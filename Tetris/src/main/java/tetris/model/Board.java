@@ -7,6 +7,7 @@ public class Board {
     private final int w;
     private final int h;
     private final Color[][] grid;
+    private long version;                    // bumped whenever a cell changes
 
     public Board(int width, int height) {
         if (width <= 0 || height <= 0) {
@@ -20,6 +21,7 @@ public class Board {
     public int width()  { return w; }
     public int height() { return h; }
     public Color[][] cells() { return grid; }
+    public long version() { return version; }
 
     public boolean inside(int x, int y) {
         return x >= 0 && x < w && y >= 0 && y < h;
@@ -36,6 +38,17 @@ public class Board {
         return true;
     }
 
+    // Rows `p` could fall before landing; reads the cells only, so the piece itself is untouched
+    public int dropDistance(ActivePiece p) {
+        var cells = p.worldCells();
+        for (int rows = 0; ; rows++) {
+            for (Vec c : cells) {
+                int y = c.y() + rows + 1;
+                if (!inside(c.x(), y) || occupied(c.x(), y)) return rows;
+            }
+        }
+    }
+
     public boolean tryNudge(ActivePiece p, int dx, int dy) {
         p.moveBy(dx, dy);
         if (canPlace(p)) return true;
@@ -49,6 +62,7 @@ public class Board {
                 grid[c.y()][c.x()] = color;
             }
         }
+        version++;
     }
 
     public int clearLines() {
@@ -73,6 +87,7 @@ public class Board {
         for (int y = write; y >= 0; y--) {
             for (int x = 0; x < w; x++) grid[y][x] = null;
         }
+        if (cleared > 0) version++;
         return cleared;
     }
 }
@@ -1,6 +1,13 @@
 package tetris.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class OpMove {
     public int opX;
     public int opRotate;
+    // Optional plan: the move for nextShape, and the column heights it assumes once this
+    // move has landed. The game plays it without asking again if the board matches.
+    public OpMove next;
+    public int[] expect;
 }
@@ -6,11 +6,13 @@ import tetris.model.Vec;
 
 public class ActivePiece extends Piece {
     private Vec origin;
+    private long version;                    // bumped on every move or turn
 
     public ActivePiece(TetrominoType t, Vec origin) { super(t); this.origin = origin; }
     
-    public void moveBy(int dx, int dy) { origin = new Vec(origin.x() + dx, origin.y() + dy); }
-    public void rotateCW() { rotation = (rotation + 1) & 3; }
+    public void moveBy(int dx, int dy) { origin = new Vec(origin.x() + dx, origin.y() + dy); version++; }
+    public void rotateCW() { rotation = (rotation + 1) & 3; version++; }
+    public long version() { return version; }
 
     public List<Vec> worldCells() {
         return localCells().stream().map(v -> new Vec(v.x() + origin.x(), v.y() + origin.y())).toList();
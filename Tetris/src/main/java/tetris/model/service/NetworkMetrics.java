@@ -0,0 +1,45 @@
+package tetris.model.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class NetworkMetrics {
+    private static final Map<String, SessionMetrics> sessions = new ConcurrentHashMap<>();
+    private static final AtomicLong nextId = new AtomicLong();
+
+    private NetworkMetrics() {}
+
+    // Fresh metrics for one connection owner, reported as endpoint#n. Two games against the same
+    // server keep their own counters, so one's first connect is not the other's reconnect.
+    public static SessionMetrics session(String endpoint) {
+        SessionMetrics m = new SessionMetrics(endpoint + "#" + nextId.incrementAndGet());
+        sessions.put(m.name(), m);
+        return m;
+    }
+
+    // The owner has disconnected for good; its counters leave the live report
+    public static void release(SessionMetrics m) {
+        if (m != null) sessions.remove(m.name(), m);
+    }
+
+    // Live sessions only; slowest (by p99 round trip) first
+    public static List<SessionMetrics> sessions() {
+        List<SessionMetrics> list = new ArrayList<>(sessions.values());
+        list.sort(Comparator.comparingLong((SessionMetrics s) -> s.roundTrip().percentile(99)).reversed());
+        return list;
+    }
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        for (SessionMetrics s : sessions()) sb.append(s.summary()).append('\n');
+        return sb.toString();
+    }
+
+    public static void clear() {
+        sessions.clear();
+    }
+}
@@ -0,0 +1,43 @@
+package tetris.model.service;
+
+// Percentiles over what a LatencyHistogram recorded between the last two roll() calls, for live
+// displays. The source keeps its lifetime totals; this only remembers the bucket counts it saw.
+public class RollingWindow {
+    private final LatencyHistogram source;
+    private final long[] seen = new long[LatencyHistogram.BUCKETS];
+    private final long[] window = new long[LatencyHistogram.BUCKETS];
+    private long count;
+
+    // Starts empty: whatever the source already holds is not part of the first window
+    public RollingWindow(LatencyHistogram source) {
+        this.source = source;
+        for (int i = 0; i < seen.length; i++) seen[i] = source.countAt(i);
+    }
+
+    public LatencyHistogram source() { return source; }
+
+    public RollingWindow roll() {
+        count = 0;
+        for (int i = 0; i < seen.length; i++) {
+            long now = source.countAt(i);
+            window[i] = now >= seen[i] ? now - seen[i] : now;   // the source was reset
+            seen[i] = now;
+            count += window[i];
+        }
+        return this;
+    }
+
+    public long count() { return count; }
+
+    // Upper bound of the bucket holding the p-th percentile (0..100) of the current window
+    public long percentile(double p) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(100.0, Math.max(0.0, p)) / 100.0));
+        long acc = 0;
+        for (int i = 0; i < window.length; i++) {
+            acc += window[i];
+            if (acc >= rank) return LatencyHistogram.upperBound(i);
+        }
+        return 0;
+    }
+}
@@ -1,10 +1,10 @@
 package tetris.model.service;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class ScoreService {
-    private static final List<ScoreObserver> observers = new ArrayList<>();
+    private static final List<ScoreObserver> observers = new CopyOnWriteArrayList<>(); // notified from the simulation thread
 
     private ScoreService() {}
 
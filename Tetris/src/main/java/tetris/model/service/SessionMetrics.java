@@ -0,0 +1,72 @@
+package tetris.model.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters and latency histograms for one external-player session: one client and its reconnects.
+public class SessionMetrics {
+    private final String name;
+
+    private final LongAdder connects = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private final LongAdder requestsSent = new LongAdder();
+    private final LongAdder movesReceived = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder protocolErrors = new LongAdder();
+    private final LongAdder hedges = new LongAdder();        // local fallback started
+    private final LongAdder primaryWins = new LongAdder();
+    private final LongAdder fallbackWins = new LongAdder();
+    private final LongAdder lateMoves = new LongAdder();     // used, but past the deadline
+    private final LongAdder plannedMoves = new LongAdder();  // pieces played from an earlier reply's plan
+
+    private final LatencyHistogram roundTrip = new LatencyHistogram();     // snapshot written -> reply read
+    private final LatencyHistogram requestToMove = new LatencyHistogram(); // request made -> move handed to the game
+    private final LatencyHistogram serialize = new LatencyHistogram();     // snapshot encode time
+
+    public SessionMetrics(String name) { this.name = name; }
+
+    public String name() { return name; }
+
+    public void onConnected() {
+        if (connects.sum() > 0) reconnects.increment();
+        connects.increment();
+    }
+    public void onConnectFailed()            { connectFailures.increment(); }
+    public void onSent(long bytes)           { requestsSent.increment(); bytesOut.add(bytes); }
+    public void onReceived(long bytes)       { bytesIn.add(bytes); }
+    public void onMove()                     { movesReceived.increment(); }
+    public void onProtocolError()            { protocolErrors.increment(); }
+    public void onHedge()                    { hedges.increment(); }
+    public void onPrimaryWin()               { primaryWins.increment(); }
+    public void onFallbackWin()              { fallbackWins.increment(); }
+    public void onLateMove()                 { lateMoves.increment(); }
+    public void onPlannedMove()              { plannedMoves.increment(); }
+
+    public LatencyHistogram roundTrip()      { return roundTrip; }
+    public LatencyHistogram requestToMove()  { return requestToMove; }
+    public LatencyHistogram serialize()      { return serialize; }
+
+    public long connects()        { return connects.sum(); }
+    public long reconnects()      { return reconnects.sum(); }
+    public long connectFailures() { return connectFailures.sum(); }
+    public long requestsSent()    { return requestsSent.sum(); }
+    public long movesReceived()   { return movesReceived.sum(); }
+    public long bytesOut()        { return bytesOut.sum(); }
+    public long bytesIn()         { return bytesIn.sum(); }
+    public long protocolErrors()  { return protocolErrors.sum(); }
+    public long hedges()          { return hedges.sum(); }
+    public long primaryWins()     { return primaryWins.sum(); }
+    public long fallbackWins()    { return fallbackWins.sum(); }
+    public long lateMoves()       { return lateMoves.sum(); }
+    public long plannedMoves()    { return plannedMoves.sum(); }
+
+    public String summary() {
+        return String.format("%s req=%d moves=%d rtt p50=%.1fms p99=%.1fms ser p50=%.0fus out=%dB in=%dB reconnects=%d connFail=%d protoErr=%d hedged=%d fallbackWins=%d late=%d planned=%d",
+                name, requestsSent(), movesReceived(),
+                roundTrip.percentile(50) / 1e6, roundTrip.percentile(99) / 1e6,
+                serialize.percentile(50) / 1e3,
+                bytesOut(), bytesIn(), reconnects(), connectFailures(), protocolErrors(),
+                hedges(), fallbackWins(), lateMoves(), plannedMoves());
+    }
+}
@@ -0,0 +1,380 @@
+package tetris.server;
+
+import tetris.controller.NetThreads;
+import tetris.controller.SnapshotCodec;
+import tetris.model.dto.OpMove;
+import tetris.model.service.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hosts many headless games at once; every connection is one game driven by a remote bot
+// over the same line protocol the desktop client speaks (PureGame out, OpMove back).
+// A few selector loops share the connections. Each game has at most one snapshot in
+// flight, is stepped no faster than stepMillis, and a bot that misses moveTimeoutMillis
+// has its piece dropped where it stands.
+public class BotServer implements AutoCloseable {
+    public record GameResult(long id, int pieces, int lines, int score, int timeouts, int illegalMoves) {}
+
+    private final ServerSocketChannel server;
+    private final EventLoop[] loops;
+    private final Thread acceptor;
+    private volatile boolean running = true;
+
+    private int boardWidth = 10, boardHeight = 20;
+    private int maxPieces = 0;
+    private long stepNanos = 0;
+    private long moveTimeoutNanos = TimeUnit.SECONDS.toNanos(5);
+    private int maxGames = 1_000;
+    private long seed = 1;
+    private SpectatorFeed feed;
+
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LatencyHistogram botLatency = new LatencyHistogram();
+    private final Queue<GameResult> results = new ConcurrentLinkedQueue<>();
+
+    public BotServer(SocketAddress bindTo, int loopCount) throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(bindTo, 512);
+        loops = new EventLoop[Math.max(1, loopCount)];
+        for (int i = 0; i < loops.length; i++) loops[i] = new EventLoop(i);
+        acceptor = new Thread(this::acceptLoop, "bot-accept");
+        acceptor.setDaemon(true);
+    }
+
+    // Settings apply to games started afterwards
+    public BotServer setBoardSize(int w, int h)    { boardWidth = w; boardHeight = h; return this; }
+    public BotServer setMaxPieces(int v)           { maxPieces = v; return this; }
+    public BotServer setStepMillis(long v)         { stepNanos = TimeUnit.MILLISECONDS.toNanos(v); return this; }
+    public BotServer setMoveTimeoutMillis(long v)  { moveTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(v); return this; }
+    public BotServer setMaxGames(int v)            { maxGames = v; return this; }
+    public BotServer setSeed(long v)               { seed = v; return this; }
+    public BotServer setSpectatorFeed(SpectatorFeed f) { feed = f; return this; }
+
+    public BotServer start() {
+        for (EventLoop l : loops) l.thread.start();
+        acceptor.start();
+        return this;
+    }
+
+    public int port() {
+        try {
+            return ((InetSocketAddress) server.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+
+    public int activeGames()       { return active.get(); }
+    public long gamesStarted()     { return started.sum(); }
+    public long gamesFinished()    { return finished.sum(); }
+    public long gamesRejected()    { return rejected.sum(); }
+    public long movesApplied()     { return moves.sum(); }
+    public long moveTimeouts()     { return timeouts.sum(); }
+    public LatencyHistogram botLatency() { return botLatency; }
+    public List<GameResult> results() { return new ArrayList<>(results); }
+
+    public String summary() {
+        return String.format("games active=%d started=%d finished=%d rejected=%d moves=%d timeouts=%d bot p50=%.1fms p99=%.1fms",
+                activeGames(), gamesStarted(), gamesFinished(), gamesRejected(), movesApplied(), moveTimeouts(),
+                botLatency.percentile(50) / 1e6, botLatency.percentile(99) / 1e6);
+    }
+
+    private void acceptLoop() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel ch = server.accept();
+                if (active.get() >= maxGames) {
+                    rejected.increment();
+                    ch.close();
+                    continue;
+                }
+                active.incrementAndGet();
+                loops[next++ % loops.length].hand(ch);
+            } catch (IOException e) {
+                if (running) System.out.println("[bot-server] accept failed: " + e);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        server.close();
+        for (EventLoop l : loops) l.selector.wakeup();
+        for (EventLoop l : loops) {
+            try { l.thread.join(2_000); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        }
+    }
+
+    // Timer entry; a session has at most one, replaced whenever it reschedules
+    private record Due(long at, Session s) {}
+
+    private final class EventLoop implements Runnable {
+        final Selector selector;
+        final Thread thread;
+        final Queue<SocketChannel> incoming = new ConcurrentLinkedQueue<>();
+        final TreeSet<Due> timers = new TreeSet<>((a, b) -> a.at() != b.at()
+                ? Long.compare(a.at(), b.at()) : Long.compare(a.s().id, b.s().id));
+        final List<Session> sessions = new ArrayList<>();
+
+        EventLoop(int i) throws IOException {
+            selector = Selector.open();
+            thread = new Thread(this, "bot-loop-" + i);
+            thread.setDaemon(true);
+        }
+
+        void hand(SocketChannel ch) {
+            incoming.add(ch);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    long wait = 0;                          // 0 = until woken
+                    Due head = timers.isEmpty() ? null : timers.first();
+                    if (head != null) wait = Math.max(1, TimeUnit.NANOSECONDS.toMillis(head.at() - System.nanoTime()));
+                    selector.select(wait);
+                    register();
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        Session s = (Session) key.attachment();
+                        if (!key.isValid()) continue;
+                        if (key.isReadable()) s.onReadable();
+                        if (key.isValid() && key.isWritable()) s.flush();
+                    }
+                    selector.selectedKeys().clear();
+                    runTimers(System.nanoTime());
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                if (running) System.out.println("[bot-server] loop failed: " + e);
+            } finally {
+                for (Session s : new ArrayList<>(sessions)) s.end();
+                try { selector.close(); } catch (IOException ignored) {}
+            }
+        }
+
+        private void register() {
+            SocketChannel ch;
+            while ((ch = incoming.poll()) != null) {
+                try {
+                    ch.configureBlocking(false);
+                    ch.socket().setTcpNoDelay(true);
+                    Session s = new Session(this, ch);
+                    s.key = ch.register(selector, SelectionKey.OP_READ, s);
+                    sessions.add(s);
+                    started.increment();
+                    s.step();
+                } catch (IOException e) {
+                    active.decrementAndGet();
+                    try { ch.close(); } catch (IOException ignored) {}
+                }
+            }
+        }
+
+        private void runTimers(long now) {
+            while (!timers.isEmpty() && timers.first().at() <= now) {
+                Due d = timers.pollFirst();
+                d.s().due = null;
+                if (d.s().open) d.s().onTimer();
+            }
+        }
+
+        void schedule(Session s, long at) {
+            cancel(s);
+            s.due = new Due(at, s);
+            timers.add(s.due);
+        }
+
+        void cancel(Session s) {
+            if (s.due != null) timers.remove(s.due);
+            s.due = null;
+        }
+    }
+
+    private final class Session {
+        final EventLoop loop;
+        final SocketChannel ch;
+        final HeadlessGame game;
+        final long id;
+        final SnapshotCodec codec = new SnapshotCodec();
+        final OpMove reply = new OpMove();
+        SelectionKey key;
+        boolean open = true;
+
+        byte[] in = new byte[1024];
+        int inLen;
+        ByteBuffer pendingOut;                      // unsent tail of the last snapshot
+
+        boolean awaiting;                           // a snapshot is waiting for its move
+        int stale;                                  // replies still owed for timed-out snapshots
+        long sentAt;
+        Due due;                                    // this session's pending timer, if any
+        int gameTimeouts, illegal;
+        final SpectatorFeed spectators = feed;
+        int board;
+        int[] frame;
+
+        Session(EventLoop loop, SocketChannel ch) {
+            this.loop = loop;
+            this.ch = ch;
+            this.id = nextId.incrementAndGet();
+            this.game = new HeadlessGame(boardWidth, boardHeight, seed + id, maxPieces);
+            if (spectators != null) board = spectators.openBoard();
+        }
+
+        // Sends the next snapshot, or ends the game
+        void step() {
+            if (spectators != null) {
+                frame = SpectatorFeed.cellsOf(game.cells(), frame);
+                spectators.publish(board, game.cells()[0].length, game.cells().length, frame, game.score(), game.lines());
+            }
+            if (game.isGameOver()) { end(); return; }
+            int n = codec.encode(game.snapshot());
+            sentAt = System.nanoTime();
+            awaiting = true;
+            write(ByteBuffer.wrap(codec.array(), 0, n));
+            if (moveTimeoutNanos > 0) loop.schedule(this, sentAt + moveTimeoutNanos);
+            else loop.cancel(this);
+        }
+
+        // Either the step interval has passed or the bot ran out of time
+        void onTimer() {
+            if (awaiting) {
+                awaiting = false;
+                stale++;
+                gameTimeouts++;
+                timeouts.increment();
+                game.apply(null);
+                step();
+            } else {
+                step();
+            }
+        }
+
+        void onMove() {
+            awaiting = false;
+            long now = System.nanoTime();
+            botLatency.record(now - sentAt);
+            moves.increment();
+            if (!game.apply(reply)) illegal++;
+            long due = sentAt + stepNanos;
+            if (game.isGameOver() || due <= now) step();
+            else loop.schedule(this, due);
+        }
+
+        void onReadable() {
+            try {
+                if (inLen == in.length) {
+                    if (in.length >= 64 * 1024) throw new IOException("line too long");
+                    in = Arrays.copyOf(in, in.length * 2);
+                }
+                int n = ch.read(ByteBuffer.wrap(in, inLen, in.length - inLen));
+                if (n < 0) { end(); return; }
+                inLen += n;
+                int start = 0;
+                for (int i = 0; i < inLen && open; i++) {
+                    if (in[i] != '\n') continue;
+                    onLine(start, i - start);
+                    start = i + 1;
+                }
+                if (start > 0) {
+                    System.arraycopy(in, start, in, 0, inLen - start);
+                    inLen -= start;
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                end();
+            }
+        }
+
+        private void onLine(int off, int n) {
+            if (n == 0) return;
+            if (SnapshotCodec.decode(in, off, n, reply) == SnapshotCodec.PONG) return;
+            if (stale > 0) { stale--; return; }     // answer to a snapshot that already timed out
+            if (awaiting) onMove();
+        }
+
+        private void write(ByteBuffer buf) {
+            if (pendingOut != null) {               // a slow reader still owes us the previous frame
+                pendingOut = ByteBuffer.allocate(pendingOut.remaining() + buf.remaining()).put(pendingOut).put(buf).flip();
+                return;
+            }
+            try {
+                ch.write(buf);
+                if (buf.hasRemaining()) {
+                    // Keep the tail; the codec's array is reused by the next snapshot
+                    pendingOut = ByteBuffer.allocate(buf.remaining()).put(buf).flip();
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            } catch (IOException e) {
+                end();
+            }
+        }
+
+        void flush() {
+            try {
+                if (pendingOut != null) ch.write(pendingOut);
+                if (pendingOut == null || !pendingOut.hasRemaining()) {
+                    pendingOut = null;
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+            } catch (IOException e) {
+                end();
+            }
+        }
+
+        void end() {
+            if (!open) return;
+            open = false;
+            loop.cancel(this);
+            loop.sessions.remove(this);
+            if (spectators != null) spectators.closeBoard(board);
+            try { ch.close(); } catch (IOException ignored) {}
+            results.add(new GameResult(id, game.pieces(), game.lines(), game.score(), gameTimeouts, illegal));
+            finished.increment();
+            active.decrementAndGet();
+        }
+    }
+
+    // Usage: --bot-server [port] [loops] [stepMillis] [maxPieces]
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7100;
+        int loopCount = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        BotServer s = new BotServer(new InetSocketAddress(port), loopCount);
+        if (args.length > 2) s.setStepMillis(Long.parseLong(args[2]));
+        if (args.length > 3) s.setMaxPieces(Integer.parseInt(args[3]));
+        s.start();
+        System.out.println("[bot-server] listening on " + port + " with " + loopCount + " loops");
+        NetThreads.every("bot-server-stats", 5, TimeUnit.SECONDS, () -> System.out.println("[bot-server] " + s.summary()));
+        try {
+            Thread.currentThread().join();
+        } catch (InterruptedException ignored) {
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package tetris.server;
+
+import tetris.model.TetrominoType;
+import tetris.model.Vec;
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+import tetris.model.service.ScoreService;
+
+import java.util.Random;
+
+// A game without JavaFX: one piece per step, placed exactly where an OpMove says
+// (rotate the current shape opRotate times clockwise, left edge at opX, drop).
+// An illegal move drops the piece unrotated at its spawn column, as gravity would.
+public class HeadlessGame {
+    private static final TetrominoType[] TYPES = TetrominoType.values();
+
+    private final int width, height;
+    private final int[][] cells;
+    private final Random rng;
+    private final int maxPieces;          // 0 = play until the stack tops out
+    private TetrominoType current, next;
+    private int pieces, lines, score;
+    private boolean gameOver;
+
+    public HeadlessGame(int width, int height, long seed, int maxPieces) {
+        this.width = width;
+        this.height = height;
+        this.cells = new int[height][width];
+        this.rng = new Random(seed);
+        this.maxPieces = maxPieces;
+        this.current = randomType();
+        this.next = randomType();
+    }
+
+    public boolean isGameOver() { return gameOver; }
+    public int pieces() { return pieces; }
+    public int lines()  { return lines; }
+    public int score()  { return score; }
+    public int[][] cells() { return cells; }
+
+    public PureGame snapshot() {
+        PureGame p = new PureGame();
+        p.width = width;
+        p.height = height;
+        p.cells = new int[height][];
+        for (int y = 0; y < height; y++) p.cells[y] = cells[y].clone();
+        p.currentShape = shapeOf(current);
+        p.nextShape = shapeOf(next);
+        return p;
+    }
+
+    // Places the current piece and spawns the next; returns false if the move was illegal
+    public boolean apply(OpMove mv) {
+        if (gameOver) return false;
+        int[][] shape = rotate(shapeOf(current), mv == null ? 0 : mv.opRotate);
+        int x = mv == null ? -1 : mv.opX;
+        boolean legal = x >= 0 && x + shape[0].length <= width && landingRow(shape, x) != Integer.MIN_VALUE;
+        if (!legal) {
+            shape = shapeOf(current);
+            x = Math.max(0, (width - shape[0].length) / 2);
+        }
+        int y = landingRow(shape, x);
+        if (y == Integer.MIN_VALUE || !lock(shape, x, y)) {
+            gameOver = true;
+            return legal;
+        }
+        int cleared = clearLines();
+        lines += cleared;
+        score += ScoreService.pointsFor(cleared);
+        pieces++;
+        current = next;
+        next = randomType();
+        if (maxPieces > 0 && pieces >= maxPieces) gameOver = true;
+        return legal;
+    }
+
+    // Top row the shape comes to rest on, or MIN_VALUE if it cannot enter at all
+    private int landingRow(int[][] shape, int ox) {
+        int y = -shape.length;
+        if (collides(shape, ox, y)) return Integer.MIN_VALUE;
+        while (!collides(shape, ox, y + 1)) y++;
+        return y;
+    }
+
+    private boolean collides(int[][] shape, int ox, int oy) {
+        for (int r = 0; r < shape.length; r++) for (int c = 0; c < shape[r].length; c++) {
+            if (shape[r][c] == 0) continue;
+            int x = ox + c, y = oy + r;
+            if (x < 0 || x >= width || y >= height) return true;
+            if (y >= 0 && cells[y][x] != 0) return true;
+        }
+        return false;
+    }
+
+    // False if part of the piece is left above the board (topped out)
+    private boolean lock(int[][] shape, int ox, int oy) {
+        boolean inside = true;
+        for (int r = 0; r < shape.length; r++) for (int c = 0; c < shape[r].length; c++) {
+            if (shape[r][c] == 0) continue;
+            int y = oy + r;
+            if (y < 0) inside = false;
+            else cells[y][ox + c] = 1;
+        }
+        return inside;
+    }
+
+    private int clearLines() {
+        int write = height - 1, cleared = 0;
+        for (int y = height - 1; y >= 0; y--) {
+            boolean full = true;
+            for (int x = 0; x < width; x++) if (cells[y][x] == 0) { full = false; break; }
+            if (full) { cleared++; continue; }
+            if (write != y) System.arraycopy(cells[y], 0, cells[write], 0, width);
+            write--;
+        }
+        for (int y = write; y >= 0; y--) java.util.Arrays.fill(cells[y], 0);
+        return cleared;
+    }
+
+    private TetrominoType randomType() {
+        return TYPES[rng.nextInt(TYPES.length)];
+    }
+
+    static int[][] shapeOf(TetrominoType t) {
+        int maxX = 0, maxY = 0;
+        for (Vec v : t.offsets()) { maxX = Math.max(maxX, v.x()); maxY = Math.max(maxY, v.y()); }
+        int[][] m = new int[maxY + 1][maxX + 1];
+        for (Vec v : t.offsets()) m[v.y()][v.x()] = 1;
+        return m;
+    }
+
+    private static int[][] rotate(int[][] m, int times) {
+        int[][] r = m;
+        for (int i = 0; i < (times & 3); i++) {
+            int h = r.length, w = r[0].length;
+            int[][] out = new int[w][h];
+            for (int y = 0; y < h; y++) for (int x = 0; x < w; x++) out[x][h - 1 - y] = r[y][x];
+            r = out;
+        }
+        return r;
+    }
+}
@@ -0,0 +1,251 @@
+package tetris.server;
+
+import javafx.scene.paint.Color;
+import tetris.config.TetrisConfig;
+import tetris.controller.NetThreads;
+import tetris.model.Board;
+import tetris.model.Vec;
+import tetris.model.piece.ActivePiece;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Streams board state to local TCP viewers. Games only swap their newest frame into a
+// per-board slot; every viewer has its own virtual thread that sends whatever is newest
+// when it gets there, so a slow viewer skips frames instead of holding up the game.
+//
+// Line format (cells are row-major digits, 0 = empty, 1 = locked, 2 = falling piece):
+//   K <board> <seq> <w> <h> <score> <lines> <cells>      full frame
+//   D <board> <seq> <score> <lines> <idx>:<v>,...         cells changed since the last frame sent
+//   E <board>                                             board closed
+public class SpectatorFeed implements AutoCloseable {
+    private static final int KEYFRAME_EVERY = 120;          // deltas between full frames per viewer
+
+    private static SpectatorFeed shared;
+
+    private record Frame(int board, long seq, int w, int h, int[] cells, int score, int lines) {}
+
+    private final ServerSocket server;
+    private final Map<Integer, Frame> latest = new ConcurrentHashMap<>();
+    private final Set<Viewer> viewers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextBoard = new AtomicInteger();
+    private final Object signal = new Object();
+    private long version;                                    // guarded by signal
+    private volatile boolean running = true;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder keyframes = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+
+    public SpectatorFeed(SocketAddress bindTo) throws IOException {
+        server = new ServerSocket();
+        server.bind(bindTo);
+        NetThreads.start("spectator-accept", this::acceptLoop);
+    }
+
+    // Process-wide feed on TetrisConfig's spectatorPort; null when spectating is off
+    public static synchronized SpectatorFeed shared() {
+        int port = TetrisConfig.getInstance().getSpectatorPort();
+        if (port <= 0) return null;
+        if (shared == null) {
+            try {
+                shared = new SpectatorFeed(new InetSocketAddress(port));
+                System.out.println("[spectator] feed on port " + port);
+            } catch (IOException e) {
+                System.out.println("[spectator] cannot open port " + port + ": " + e);
+                return null;
+            }
+        }
+        return shared;
+    }
+
+    public int port() { return server.getLocalPort(); }
+
+    public int openBoard() { return nextBoard.incrementAndGet(); }
+
+    public void closeBoard(int board) {
+        if (latest.remove(board) != null) wake();
+    }
+
+    // Called from the game loop; copies only when something changed and never blocks
+    public void publish(int board, int w, int h, int[] cells, int score, int lines) {
+        Frame last = latest.get(board);
+        if (last != null && last.score() == score && last.lines() == lines
+                && last.w() == w && last.h() == h && Arrays.equals(last.cells(), 0, w * h, cells, 0, w * h)) return;
+        long seq = last == null ? 1 : last.seq() + 1;
+        latest.put(board, new Frame(board, seq, w, h, Arrays.copyOf(cells, w * h), score, lines));
+        published.increment();
+        wake();
+    }
+
+    // Flattens a desktop board plus its falling piece into `reuse` (grown if too small)
+    public static int[] cellsOf(Board board, ActivePiece piece, int[] reuse) {
+        int w = board.width(), h = board.height();
+        int[] out = reuse != null && reuse.length >= w * h ? reuse : new int[w * h];
+        Color[][] grid = board.cells();
+        for (int y = 0; y < h; y++) for (int x = 0; x < w; x++) out[y * w + x] = grid[y][x] != null ? 1 : 0;
+        if (piece != null) {
+            for (Vec v : piece.worldCells()) if (board.inside(v.x(), v.y())) out[v.y() * w + v.x()] = 2;
+        }
+        return out;
+    }
+
+    // Same for a headless game, which has no falling piece between steps
+    public static int[] cellsOf(int[][] grid, int[] reuse) {
+        int h = grid.length, w = grid[0].length;
+        int[] out = reuse != null && reuse.length >= w * h ? reuse : new int[w * h];
+        for (int y = 0; y < h; y++) System.arraycopy(grid[y], 0, out, y * w, w);
+        return out;
+    }
+
+    private void wake() {
+        synchronized (signal) {
+            version++;
+            signal.notifyAll();
+        }
+    }
+
+    public int viewers()          { return viewers.size(); }
+    public long framesPublished() { return published.sum(); }
+    public long framesSent()      { return sent.sum(); }
+    public long framesCoalesced() { return coalesced.sum(); }
+    public long keyframesSent()   { return keyframes.sum(); }
+    public long bytesSent()       { return bytesSent.sum(); }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket s = server.accept();
+                s.setTcpNoDelay(true);
+                Viewer v = new Viewer(s);
+                viewers.add(v);
+                NetThreads.start("spectator-" + s.getRemoteSocketAddress(), v::run);
+            } catch (IOException e) {
+                return; // closed
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        server.close();
+        for (Viewer v : viewers) v.close();
+        wake();
+        synchronized (SpectatorFeed.class) {
+            if (shared == this) shared = null;
+        }
+    }
+
+    private final class Viewer {
+        private final Socket socket;
+        private final Map<Integer, Frame> lastSent = new HashMap<>();
+        private final Map<Integer, Integer> sinceKey = new HashMap<>();
+        private byte[] buf = new byte[4096];
+        private int len;
+
+        Viewer(Socket socket) { this.socket = socket; }
+
+        void run() {
+            long seen = -1;
+            try (OutputStream out = socket.getOutputStream()) {
+                while (running) {
+                    synchronized (signal) {
+                        while (running && version == seen) signal.wait();
+                        seen = version;
+                    }
+                    len = 0;
+                    for (Frame f : latest.values()) {
+                        Frame prev = lastSent.get(f.board());
+                        if (prev != null && prev.seq() == f.seq()) continue;
+                        if (prev != null) coalesced.add(f.seq() - prev.seq() - 1);
+                        encode(prev, f);
+                        lastSent.put(f.board(), f);
+                        sent.increment();
+                    }
+                    for (Iterator<Integer> it = lastSent.keySet().iterator(); it.hasNext(); ) {
+                        int board = it.next();
+                        if (latest.containsKey(board)) continue;
+                        it.remove();
+                        sinceKey.remove(board);
+                        putAscii("E "); putLong(board); put('\n');
+                    }
+                    if (len > 0) {
+                        out.write(buf, 0, len);  // may block; the game keeps overwriting the slots meanwhile
+                        out.flush();
+                        bytesSent.add(len);
+                    }
+                }
+            } catch (IOException | InterruptedException e) {
+                // viewer went away
+            } finally {
+                close();
+            }
+        }
+
+        private void encode(Frame prev, Frame f) {
+            int n = f.w() * f.h();
+            int changed = 0;
+            boolean key = prev == null || prev.w() != f.w() || prev.h() != f.h()
+                    || sinceKey.getOrDefault(f.board(), 0) >= KEYFRAME_EVERY;
+            if (!key) {
+                for (int i = 0; i < n; i++) if (prev.cells()[i] != f.cells()[i]) changed++;
+                key = changed * 4 > n;                   // a full frame is cheaper
+            }
+            if (key) {
+                keyframes.increment();
+                sinceKey.put(f.board(), 0);
+                putAscii("K "); putLong(f.board()); put(' '); putLong(f.seq()); put(' ');
+                putLong(f.w()); put(' '); putLong(f.h()); put(' ');
+                putLong(f.score()); put(' '); putLong(f.lines()); put(' ');
+                for (int i = 0; i < n; i++) put('0' + Math.min(9, Math.max(0, f.cells()[i])));
+            } else {
+                sinceKey.merge(f.board(), 1, Integer::sum);
+                putAscii("D "); putLong(f.board()); put(' '); putLong(f.seq()); put(' ');
+                putLong(f.score()); put(' '); putLong(f.lines()); put(' ');
+                boolean first = true;
+                for (int i = 0; i < n; i++) {
+                    if (prev.cells()[i] == f.cells()[i]) continue;
+                    if (!first) put(',');
+                    first = false;
+                    putLong(i); put(':'); put('0' + Math.min(9, Math.max(0, f.cells()[i])));
+                }
+            }
+            put('\n');
+        }
+
+        private void putAscii(String s) {
+            for (int i = 0; i < s.length(); i++) put(s.charAt(i));
+        }
+
+        private void putLong(long v) {
+            if (v < 0) { put('-'); v = -v; }
+            if (v >= 10) putLong(v / 10);
+            put((int) ('0' + v % 10));
+        }
+
+        private void put(int b) {
+            if (len == buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+            buf[len++] = (byte) b;
+        }
+
+        void close() {
+            viewers.remove(this);
+            try { socket.close(); } catch (IOException ignored) {}
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package tetris.view;
+
+import javafx.scene.paint.Color;
+import tetris.model.Board;
+import tetris.model.TetrominoType;
+import tetris.model.Vec;
+import tetris.model.piece.ActivePiece;
+
+import java.util.List;
+
+// Everything the FX thread needs to draw one board, copied out of the game on the simulation
+// thread. Lives in a TripleBuffer slot; not changed while the renderer holds it.
+public final class BoardFrame {
+    private long seq;
+    private long lockedStamp = -1;                   // changes whenever the locked cells do
+    private Color[][] locked = new Color[0][0];
+    private List<Vec> active = List.of();
+    private Color activeColor;
+    private TetrominoType next;
+    private Color nextColor;
+    private boolean paused, gameOver;
+    private int score, lines;
+
+    void capture(long seq, Board board, long lockedStamp, ActivePiece piece, Color pieceColor,
+                 TetrominoType next, Color nextColor, boolean paused, boolean gameOver, int score, int lines) {
+        this.seq = seq;
+        if (this.lockedStamp != lockedStamp) {
+            Color[][] src = board.cells();
+            if (locked.length != board.height() || locked.length == 0 || locked[0].length != board.width()) {
+                locked = new Color[board.height()][board.width()];
+            }
+            for (int y = 0; y < src.length; y++) System.arraycopy(src[y], 0, locked[y], 0, src[y].length);
+            this.lockedStamp = lockedStamp;
+        }
+        this.active = piece == null ? List.of() : piece.worldCells();
+        this.activeColor = pieceColor;
+        this.next = next;
+        this.nextColor = nextColor;
+        this.paused = paused;
+        this.gameOver = gameOver;
+        this.score = score;
+        this.lines = lines;
+    }
+
+    public long seq() { return seq; }
+    public long lockedStamp() { return lockedStamp; }
+    public Color[][] locked() { return locked; }
+    public List<Vec> active() { return active; }
+    public Color activeColor() { return activeColor; }
+    public TetrominoType next() { return next; }
+    public Color nextColor() { return nextColor; }
+    public boolean paused() { return paused; }
+    public boolean gameOver() { return gameOver; }
+    public int score() { return score; }
+    public int lines() { return lines; }
+}
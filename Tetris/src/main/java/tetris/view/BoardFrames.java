@@ -0,0 +1,55 @@
+package tetris.view;
+
+import javafx.scene.paint.Color;
+import tetris.controller.TripleBuffer;
+import tetris.model.Board;
+import tetris.model.TetrominoType;
+import tetris.model.piece.ActivePiece;
+
+import java.util.Objects;
+
+// The frame hand-off for one board. The simulation thread calls publish() after every step;
+// a frame is only built when the model's version counters, the overlay or the HUD numbers moved.
+// The FX thread polls for the newest frame.
+public final class BoardFrames {
+    private final TripleBuffer<BoardFrame> buffer = new TripleBuffer<>(BoardFrame::new);
+
+    // Simulation-thread side: what the last published frame was built from
+    private Board board;
+    private long boardVersion;
+    private long lockedStamp;
+    private ActivePiece piece;
+    private long pieceVersion;
+    private TetrominoType next;
+    private Color nextColor;
+    private boolean paused, gameOver;
+    private int score, lines;
+    private long seq;
+
+    public boolean publish(Board board, ActivePiece piece, Color pieceColor, TetrominoType next, Color nextColor,
+                           boolean paused, boolean gameOver, int score, int lines) {
+        boolean lockedMoved = board != this.board || board.version() != boardVersion;
+        if (seq > 0 && !lockedMoved && piece == this.piece && (piece == null || piece.version() == pieceVersion)
+                && next == this.next && Objects.equals(nextColor, this.nextColor)
+                && paused == this.paused && gameOver == this.gameOver && score == this.score && lines == this.lines) {
+            return false;
+        }
+        if (lockedMoved) lockedStamp++;
+        this.board = board;
+        this.boardVersion = board.version();
+        this.piece = piece;
+        this.pieceVersion = piece == null ? 0 : piece.version();
+        this.next = next;
+        this.nextColor = nextColor;
+        this.paused = paused;
+        this.gameOver = gameOver;
+        this.score = score;
+        this.lines = lines;
+        buffer.back().capture(++seq, board, lockedStamp, piece, pieceColor, next, nextColor, paused, gameOver, score, lines);
+        buffer.publish();
+        return true;
+    }
+
+    // FX side: the newest frame, or null if none was published since the last call
+    public BoardFrame poll() { return buffer.poll(); }
+}
@@ -0,0 +1,137 @@
+package tetris.view;
+
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import tetris.model.TetrominoType;
+import tetris.model.Vec;
+import tetris.model.service.LatencyHistogram;
+
+import java.util.List;
+import java.util.Objects;
+
+// Draws one board and its next-piece preview. Subclasses paint the board; this class decides
+// when a frame is needed, times the frames it draws, and paints the preview and the overlay.
+//   canvas - stacked Canvas layers (CanvasBoardRenderer)
+//   pixels - one PixelBuffer-backed image, for very wide boards (PixelBoardRenderer)
+public abstract class BoardRenderer {
+    protected final int cell;
+    protected final CellAtlas atlas;
+    private final Canvas next;
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+
+    private TetrominoType nextShown;
+    private Color nextColorShown;
+
+    private long drawnSeq;                        // last BoardFrame drawn; see frameNeeded()
+    private long drawnLockedStamp = -1;
+    private long framesDrawn, framesSkipped;
+
+    protected BoardRenderer(int cellSize, Canvas next) {
+        this.cell = cellSize;
+        this.next = next;
+        this.atlas = new CellAtlas(cellSize);
+    }
+
+    // kind: canvas | pixels
+    public static BoardRenderer create(String kind, int width, int height, int cellSize, Canvas next) {
+        return switch (kind == null ? "canvas" : kind.toLowerCase()) {
+            case "pixels" -> new PixelBoardRenderer(width, height, cellSize, next);
+            default -> new CanvasBoardRenderer(width, height, cellSize, next);
+        };
+    }
+
+    public abstract Node node();
+
+    public abstract String kind();
+
+    // Builds the cell tiles for these colours up front; others are added when first drawn
+    public void preload(Color... palette) { atlas.preload(palette); }
+
+    // The locked cells changed (lock, clear, new game); frameNeeded() calls it from the frame's stamp
+    public void lockedChanged() {}
+
+    // Whether `f` (from BoardFrames.poll(), so null when the game published nothing new) still
+    // needs drawing. An idle, paused or finished board publishes nothing and costs one check a pulse.
+    // A true answer counts as drawing the frame.
+    public boolean frameNeeded(BoardFrame f) {
+        if (f == null || f.seq() == drawnSeq) {
+            framesSkipped++;
+            return false;
+        }
+        if (f.lockedStamp() != drawnLockedStamp) {
+            lockedChanged();
+            drawnLockedStamp = f.lockedStamp();
+        }
+        drawnSeq = f.seq();
+        framesDrawn++;
+        return true;
+    }
+
+    public long framesDrawn()   { return framesDrawn; }
+    public long framesSkipped() { return framesSkipped; }
+    public LatencyHistogram frameTimes() { return frameTimes; }
+
+    // One line for the log, to compare renderers on the same board
+    public String frameReport() {
+        return String.format("%s: drawn=%d skipped=%d paint p50=%.1fus p99=%.1fus max=%.1fus",
+                kind(), framesDrawn, framesSkipped,
+                frameTimes.percentile(50) / 1e3, frameTimes.percentile(99) / 1e3, frameTimes.max() / 1e3);
+    }
+
+    // Board and next preview from one frame; overlayTitle null for none
+    public final void render(BoardFrame f, String overlayTitle, String overlayHint) {
+        render(f.locked(), f.active(), f.activeColor(), overlayTitle, overlayHint);
+        renderNext(f.next(), f.nextColor());
+    }
+
+    // overlayTitle null for none
+    public final void render(Color[][] cells, List<Vec> active, Color activeColor,
+                             String overlayTitle, String overlayHint) {
+        long t0 = System.nanoTime();
+        paint(cells, active, activeColor, overlayTitle, overlayHint);
+        frameTimes.record(System.nanoTime() - t0);
+    }
+
+    protected abstract void paint(Color[][] cells, List<Vec> active, Color activeColor,
+                                  String overlayTitle, String overlayHint);
+
+    protected static void paintOverlay(GraphicsContext gc, double w, double h, String title, String hint) {
+        gc.save();
+        gc.setGlobalAlpha(0.45); gc.setFill(Color.BLACK); gc.fillRect(0, 0, w, h);
+        gc.setGlobalAlpha(1.0); gc.setFill(Color.WHITE);
+        gc.setTextAlign(TextAlignment.CENTER); gc.setTextBaseline(VPos.CENTER);
+        gc.setFont(Font.font("Arial", FontWeight.BOLD, 36));
+        gc.fillText(title, w / 2.0, h / 2.0 - 18);
+        gc.setFont(Font.font("Arial", FontWeight.NORMAL, 18));
+        gc.fillText(hint, w / 2.0, h / 2.0 + 16);
+        gc.restore();
+    }
+
+    // Preview of the next piece, centred; redrawn only when the piece changes
+    public void renderNext(TetrominoType type, Color color) {
+        if (next == null || (type == nextShown && Objects.equals(color, nextColorShown))) return;
+        nextShown = type;
+        nextColorShown = color;
+        Vec[] offs = type.offsets();
+        GraphicsContext ng = next.getGraphicsContext2D();
+        ng.clearRect(0, 0, next.getWidth(), next.getHeight());
+
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        for (Vec v : offs) {
+            minX = Math.min(minX, v.x()); maxX = Math.max(maxX, v.x());
+            minY = Math.min(minY, v.y()); maxY = Math.max(maxY, v.y());
+        }
+        int w = (maxX - minX + 1), h = (maxY - minY + 1);
+        double startPx = (next.getWidth() - w * cell) / 2.0 - minX * cell;
+        double startPy = (next.getHeight() - h * cell) / 2.0 - minY * cell;
+
+        for (Vec v : offs) atlas.draw(ng, color, startPx + v.x() * cell, startPy + v.y() * cell);
+    }
+}
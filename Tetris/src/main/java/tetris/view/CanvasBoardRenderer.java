@@ -0,0 +1,103 @@
+package tetris.view;
+
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import tetris.model.Vec;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+// Draws a board as three stacked canvases, each repainted only when its content changes:
+//   grid   - the light-gray cell outlines, drawn once per board size
+//   locked - settled blocks; only cells changed by a lock or clear (after lockedChanged())
+//   top    - the active piece and the pause/game-over overlay; only the cells the piece left and entered
+// Blocks are tiles from a CellAtlas; each tile carries its own border, so clearing a cell
+// never cuts into a neighbour.
+public class CanvasBoardRenderer extends BoardRenderer {
+    private final Canvas grid = new Canvas();
+    private final Canvas locked = new Canvas();
+    private final Canvas top = new Canvas();
+    private final StackPane layers = new StackPane(grid, locked, top);
+    private final DirtyCells lockedCells = new DirtyCells();
+
+    private int[] activeShown = new int[0];          // cell indices of the piece on the top layer
+    private Color activeColorShown;
+    private String overlay;                          // title + hint shown, null if none
+
+    public CanvasBoardRenderer(int width, int height, int cellSize, Canvas next) {
+        super(cellSize, next);
+        layers.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE); // sized by the canvases, like a bare Canvas
+        resize(width, height);
+    }
+
+    @Override public Node node() { return layers; }
+    @Override public String kind() { return "canvas"; }
+
+    @Override
+    public void lockedChanged() {
+        lockedCells.lockedChanged();
+    }
+
+    private void resize(int W, int H) {
+        for (Canvas c : List.of(grid, locked, top)) {
+            c.setWidth(W * cell);
+            c.setHeight(H * cell);
+        }
+        GraphicsContext g = grid.getGraphicsContext2D();
+        g.clearRect(0, 0, W * cell, H * cell);
+        g.setStroke(Color.LIGHTGRAY);
+        for (int y = 0; y < H; y++) for (int x = 0; x < W; x++)
+            g.strokeRect(x * cell, y * cell, cell, cell);
+        locked.getGraphicsContext2D().clearRect(0, 0, W * cell, H * cell);
+        top.getGraphicsContext2D().clearRect(0, 0, W * cell, H * cell);
+        lockedCells.reset(W, H);
+        activeShown = new int[0];
+        overlay = null;
+    }
+
+    @Override
+    protected void paint(Color[][] cells, List<Vec> active, Color activeColor,
+                         String overlayTitle, String overlayHint) {
+        int H = cells.length, W = cells[0].length;
+        if (W != lockedCells.width() || H != lockedCells.height()) resize(W, H);
+        renderLocked(W, H, cells);
+        renderTop(W, H, active, activeColor, overlayTitle, overlayHint);
+    }
+
+    private void renderLocked(int W, int H, Color[][] cells) {
+        int changed = lockedCells.update(cells, List.of(), null);
+        GraphicsContext gc = locked.getGraphicsContext2D();
+        for (int k = 0; k < changed; k++) {
+            int i = lockedCells.changed(k), x = i % W, y = i / W;
+            gc.clearRect(x * cell, y * cell, cell, cell);
+            if (lockedCells.shown(i) != null) atlas.draw(gc, lockedCells.shown(i), x * cell, y * cell);
+        }
+    }
+
+    private void renderTop(int W, int H, List<Vec> active, Color activeColor, String title, String hint) {
+        int[] now = new int[active.size()];
+        int n = 0;
+        for (Vec v : active) if (v.x() >= 0 && v.x() < W && v.y() >= 0 && v.y() < H) now[n++] = v.y() * W + v.x();
+        if (n != now.length) now = Arrays.copyOf(now, n);
+        String ov = title == null ? null : title + "\n" + hint;
+        boolean pieceSame = Arrays.equals(now, activeShown) && Objects.equals(activeColor, activeColorShown);
+        if (pieceSame && Objects.equals(ov, overlay)) return;
+
+        GraphicsContext gc = top.getGraphicsContext2D();
+        if (ov != null || overlay != null) {
+            gc.clearRect(0, 0, W * cell, H * cell);  // the overlay covers everything anyway
+        } else {
+            for (int i : activeShown) gc.clearRect((i % W) * cell, (i / W) * cell, cell, cell);
+        }
+        for (int i : now) atlas.draw(gc, activeColor, (i % W) * cell, (i / W) * cell);
+        if (ov != null) paintOverlay(gc, W * cell, H * cell, title, hint);
+        activeShown = now;
+        activeColorShown = activeColor;
+        overlay = ov;
+    }
+}
@@ -0,0 +1,82 @@
+package tetris.view;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// One pre-rendered tile per colour (fill, bevel and black border), side by side in a single
+// image, so a cell is one drawImage instead of four fill/stroke state changes. Tiles are built
+// from pixels, not by snapshotting a canvas; colours not preloaded are added on first use.
+final class CellAtlas {
+    private final int size;
+    private final Map<Color, Integer> slot = new HashMap<>();
+    private final List<int[]> tiles = new ArrayList<>();
+    private WritableImage image;
+
+    CellAtlas(int cellSize) { this.size = cellSize; }
+
+    void preload(Color... palette) {
+        boolean added = false;
+        for (Color c : palette) added |= add(c);
+        if (added) rebuild();
+    }
+
+    void draw(GraphicsContext gc, Color c, double x, double y) {
+        Integer i = slot.get(c);
+        if (i == null) {
+            add(c);
+            rebuild();
+            i = slot.get(c);
+        }
+        gc.drawImage(image, i * size, 0, size, size, x, y, size, size);
+    }
+
+    private boolean add(Color c) {
+        if (slot.containsKey(c)) return false;
+        slot.put(c, tiles.size());
+        tiles.add(tilePixels(c, size));
+        return true;
+    }
+
+    private void rebuild() {
+        WritableImage img = new WritableImage(size * tiles.size(), size);
+        for (int i = 0; i < tiles.size(); i++) {
+            img.getPixelWriter().setPixels(i * size, 0, size, size, PixelFormat.getIntArgbInstance(), tiles.get(i), 0, size);
+        }
+        image = img;
+    }
+
+    // ARGB pixels of one cell: black outer ring, lighter top/left and darker bottom/right edge, flat fill
+    static int[] tilePixels(Color c, int size) {
+        int fill = argb(c);
+        int light = argb(c.interpolate(Color.WHITE, 0.35));
+        int dark = argb(c.interpolate(Color.BLACK, 0.35));
+        int border = argb(Color.BLACK);
+        int bevel = size >= 8 ? 2 : 0;
+        int[] px = new int[size * size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int p;
+                if (x == 0 || y == 0 || x == size - 1 || y == size - 1) p = border;
+                else if (x <= bevel && x < size - 1 - y || y <= bevel && y < size - 1 - x) p = light;
+                else if (x >= size - 1 - bevel || y >= size - 1 - bevel) p = dark;
+                else p = fill;
+                px[y * size + x] = p;
+            }
+        }
+        return px;
+    }
+
+    private static int argb(Color c) {
+        return (int) Math.round(c.getOpacity() * 255) << 24
+                | (int) Math.round(c.getRed() * 255) << 16
+                | (int) Math.round(c.getGreen() * 255) << 8
+                | (int) Math.round(c.getBlue() * 255);
+    }
+}
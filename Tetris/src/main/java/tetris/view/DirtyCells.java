@@ -0,0 +1,64 @@
+package tetris.view;
+
+import javafx.scene.paint.Color;
+import tetris.model.Vec;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+// What each board cell currently shows on screen (locked colour, or the active piece over it),
+// and which cells differ from the next frame. Only the old and new active-piece cells are
+// compared each frame; locked cells only after lockedChanged(), i.e. a lock or a line clear.
+final class DirtyCells {
+    private int w, h;
+    private Color[] shown = new Color[0];
+    private int[] lastActive = new int[0];
+    private int[] changed = new int[16];
+    private int changedCount;
+    private boolean lockedDirty = true;
+
+    // Forget what is on screen; the next update reports every cell that is not empty
+    void reset(int width, int height) {
+        w = width; h = height;
+        shown = new Color[w * h];
+        lastActive = new int[0];
+        lockedDirty = true;
+    }
+
+    void lockedChanged() { lockedDirty = true; }
+
+    int width()  { return w; }
+    int height() { return h; }
+    Color shown(int idx) { return shown[idx]; }
+
+    // Updates the picture; returns how many cells changed, listed by changed(i)
+    int update(Color[][] locked, List<Vec> active, Color activeColor) {
+        changedCount = 0;
+        int[] now = new int[active.size()];
+        int n = 0;
+        for (Vec v : active) if (v.x() >= 0 && v.x() < w && v.y() >= 0 && v.y() < h) now[n++] = v.y() * w + v.x();
+        if (n != now.length) now = Arrays.copyOf(now, n);
+
+        if (lockedDirty) {
+            for (int i = 0; i < w * h; i++) check(i, locked, now, activeColor);
+            lockedDirty = false;
+        } else {
+            for (int i : lastActive) check(i, locked, now, activeColor);
+            for (int i : now) check(i, locked, now, activeColor);
+        }
+        lastActive = now;
+        return changedCount;
+    }
+
+    int changed(int k) { return changed[k]; }
+
+    private void check(int idx, Color[][] locked, int[] active, Color activeColor) {
+        Color want = locked[idx / w][idx % w];
+        for (int a : active) if (a == idx) { want = activeColor; break; }
+        if (Objects.equals(want, shown[idx])) return;
+        shown[idx] = want;
+        if (changedCount == changed.length) changed = Arrays.copyOf(changed, changedCount * 2);
+        changed[changedCount++] = idx;
+    }
+}
@@ -0,0 +1,127 @@
+package tetris.view;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
+import tetris.controller.GameClock;
+import tetris.model.service.LatencyHistogram;
+import tetris.model.service.RollingWindow;
+import tetris.model.service.SessionMetrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+// Text overlay for chasing stutter without a profiler, toggled with F3. Twice a second it rolls
+// a window over each histogram the game already keeps and shows p50/p99 of that last half second:
+//   fps/frame - gaps between FX pulses     tick - one simulation step of every board
+//   draw      - this board's renderer      alloc - heap allocated by all threads
+//   ai        - local AI search            rtt   - external player round trip
+// While hidden it does nothing at all.
+public class PerfHud {
+    private static final Duration REFRESH = Duration.millis(500);
+
+    private final Label text = new Label();
+    private final Timeline refresh = new Timeline(new KeyFrame(REFRESH, e -> update()));
+    private final RollingWindow frames, ticks, draws;
+    private Supplier<LatencyHistogram> aiSource = () -> null;
+    private Supplier<SessionMetrics> netSource = () -> null;
+    private RollingWindow ai, rtt;
+    private long lastAt, lastAllocated;
+
+    public PerfHud(BoardRenderer renderer) {
+        GameClock clock = GameClock.shared();
+        frames = new RollingWindow(clock.frameGaps());
+        ticks = new RollingWindow(clock.stepTimes());
+        draws = new RollingWindow(renderer.frameTimes());
+        refresh.setCycleCount(Timeline.INDEFINITE);
+        text.setVisible(false);
+        text.setMouseTransparent(true);
+        text.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        text.setStyle("-fx-font-family: monospace; -fx-font-size: 11px; -fx-text-fill: #7CFC00;"
+                + " -fx-background-color: rgba(0,0,0,0.7); -fx-padding: 4;");
+        StackPane.setAlignment(text, Pos.TOP_LEFT);
+    }
+
+    // Either may return null, or a different object later (AI swapped, network reconnected)
+    public PerfHud watch(Supplier<LatencyHistogram> aiThinkTimes, Supplier<SessionMetrics> network) {
+        this.aiSource = aiThinkTimes;
+        this.netSource = network;
+        return this;
+    }
+
+    // Goes in a StackPane over the board
+    public Node node() { return text; }
+
+    public boolean isShown() { return text.isVisible(); }
+
+    public void toggle() {
+        if (isShown()) hide(); else show();
+    }
+
+    public void show() {
+        if (isShown()) return;
+        frames.roll();
+        ticks.roll();
+        draws.roll();
+        ai = rtt = null;
+        lastAt = System.nanoTime();
+        lastAllocated = allocatedBytes();
+        text.setText("measuring...");
+        text.setVisible(true);
+        refresh.play();
+    }
+
+    public void hide() {
+        refresh.stop();
+        text.setVisible(false);
+    }
+
+    private void update() {
+        long now = System.nanoTime();
+        double secs = Math.max(1e-3, (now - lastAt) / 1e9);
+        long allocated = allocatedBytes();
+        String alloc = allocated < 0 || lastAllocated < 0 ? "n/a"
+                : String.format("%.1f MB/s", (allocated - lastAllocated) / secs / 1e6);
+        lastAt = now;
+        lastAllocated = allocated;
+
+        ai = follow(ai, aiSource.get());
+        SessionMetrics net = netSource.get();
+        rtt = follow(rtt, net == null ? null : net.roundTrip());
+
+        frames.roll();
+        text.setText(String.format("fps   %.0f%n", frames.count() / secs)
+                + line("frame", frames) + "\n"
+                + line("tick", ticks.roll()) + "\n"
+                + line("draw", draws.roll()) + "\n"
+                + "alloc " + alloc + "\n"
+                + line("ai", ai == null ? null : ai.roll()) + "\n"
+                + line("rtt", rtt == null ? null : rtt.roll()));
+    }
+
+    // A window on `source`, kept while the source stays the same
+    private static RollingWindow follow(RollingWindow w, LatencyHistogram source) {
+        if (source == null) return null;
+        return w != null && w.source() == source ? w : new RollingWindow(source);
+    }
+
+    static String line(String name, RollingWindow w) {
+        if (w == null) return String.format("%-5s off", name);
+        if (w.count() == 0) return String.format("%-5s -", name);
+        return String.format("%-5s p50 %6.2f  p99 %6.2f ms", name, w.percentile(50) / 1e6, w.percentile(99) / 1e6);
+    }
+
+    // Process-wide, from the HotSpot thread bean; -1 where the JVM does not offer it
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean t
+                && t.isThreadAllocatedMemorySupported() && t.isThreadAllocatedMemoryEnabled()) {
+            return t.getTotalThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
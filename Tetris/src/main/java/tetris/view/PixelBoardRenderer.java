@@ -0,0 +1,124 @@
+package tetris.view;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import tetris.model.Vec;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+// Draws the board into one IntBuffer shared with the scene graph through a PixelBuffer and
+// shown by an ImageView. Each frame copies the tiles of the changed cells and hands JavaFX only
+// the rectangle around them, so the cost follows what moved, not the board size; meant for
+// extend-mode boards with 100+ columns. The pause/game-over overlay sits on a Canvas above.
+// Tiles must be opaque: the buffer is premultiplied ARGB and they are copied as is.
+public class PixelBoardRenderer extends BoardRenderer {
+    private static final int GRID = 0xFFD3D3D3;      // Color.LIGHTGRAY
+
+    private final ImageView image = new ImageView();
+    private final Canvas overlayLayer = new Canvas();
+    private final StackPane layers = new StackPane(image, overlayLayer);
+    private final DirtyCells cells = new DirtyCells();
+    private final Map<Color, int[]> tiles = new HashMap<>();
+    private final int[] empty;
+
+    private IntBuffer pixels;
+    private PixelBuffer<IntBuffer> buffer;
+    private String overlay;                          // title + hint shown, null if none
+
+    public PixelBoardRenderer(int width, int height, int cellSize, Canvas next) {
+        super(cellSize, next);
+        this.empty = emptyTile(cellSize);
+        layers.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        resize(width, height);
+    }
+
+    @Override public Node node() { return layers; }
+    @Override public String kind() { return "pixels"; }
+
+    @Override
+    public void preload(Color... palette) {
+        super.preload(palette);
+        for (Color c : palette) tile(c);
+    }
+
+    @Override
+    public void lockedChanged() {
+        cells.lockedChanged();
+    }
+
+    private int[] tile(Color c) {
+        return c == null ? empty : tiles.computeIfAbsent(c, k -> CellAtlas.tilePixels(k, cell));
+    }
+
+    private void resize(int W, int H) {
+        int pw = W * cell, ph = H * cell;
+        pixels = ByteBuffer.allocateDirect(pw * ph * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+        for (int y = 0; y < H; y++) for (int x = 0; x < W; x++) blit(pixels, pw, empty, cell, x, y);
+        buffer = new PixelBuffer<>(pw, ph, pixels, PixelFormat.getIntArgbPreInstance());
+        image.setImage(new WritableImage(buffer));
+        overlayLayer.setWidth(pw);
+        overlayLayer.setHeight(ph);
+        overlayLayer.getGraphicsContext2D().clearRect(0, 0, pw, ph);
+        cells.reset(W, H);
+        overlay = null;
+    }
+
+    @Override
+    protected void paint(Color[][] locked, List<Vec> active, Color activeColor,
+                         String overlayTitle, String overlayHint) {
+        int H = locked.length, W = locked[0].length;
+        if (W != cells.width() || H != cells.height()) resize(W, H);
+        int changed = cells.update(locked, active, activeColor);
+        if (changed > 0) {
+            buffer.updateBuffer(b -> paintCells(pixels, W, cell, cells, changed, this::tile));
+        }
+
+        String ov = overlayTitle == null ? null : overlayTitle + "\n" + overlayHint;
+        if (!Objects.equals(ov, overlay)) {
+            var gc = overlayLayer.getGraphicsContext2D();
+            gc.clearRect(0, 0, overlayLayer.getWidth(), overlayLayer.getHeight());
+            if (ov != null) paintOverlay(gc, overlayLayer.getWidth(), overlayLayer.getHeight(), overlayTitle, overlayHint);
+            overlay = ov;
+        }
+    }
+
+    // Copies the tiles of the first `count` changed cells; returns the pixel rectangle they cover
+    static Rectangle2D paintCells(IntBuffer px, int W, int cell, DirtyCells d, int count, Function<Color, int[]> tileOf) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = -1, maxY = -1;
+        for (int k = 0; k < count; k++) {
+            int i = d.changed(k), x = i % W, y = i / W;
+            blit(px, W * cell, tileOf.apply(d.shown(i)), cell, x, y);
+            minX = Math.min(minX, x); maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y); maxY = Math.max(maxY, y);
+        }
+        return new Rectangle2D(minX * cell, minY * cell, (maxX - minX + 1) * cell, (maxY - minY + 1) * cell);
+    }
+
+    private static void blit(IntBuffer px, int stride, int[] tile, int cell, int cx, int cy) {
+        int base = cy * cell * stride + cx * cell;
+        for (int row = 0; row < cell; row++) px.put(base + row * stride, tile, row * cell, cell);
+    }
+
+    // A free cell: transparent, with the grid's light-gray outline
+    static int[] emptyTile(int size) {
+        int[] px = new int[size * size];
+        for (int y = 0; y < size; y++) for (int x = 0; x < size; x++)
+            if (x == 0 || y == 0 || x == size - 1 || y == size - 1) px[y * size + x] = GRID;
+        return px;
+    }
+}
@@ -2,18 +2,17 @@ package tetris.view;
 
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.geometry.VPos;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.Separator;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
-import javafx.scene.text.TextAlignment;
 import javafx.stage.Stage;
+import tetris.config.TetrisConfig;
 
 public class SinglePlayerView {
 
@@ -23,7 +22,8 @@ public class SinglePlayerView {
     private final Label playerTypeLabel = new Label("Player: —");
     private final Label levelLabel = new Label("Level: —");
     private final Label linesLabel = new Label("Lines: 0");
-    private final Canvas boardCanvas;
+    private final BoardRenderer renderer;
+    private final PerfHud perfHud;
     private final Canvas nextCanvas = new Canvas(6 * CELL_SIZE, 6 * CELL_SIZE);
     private final Button backButton = new Button("Back");
     private final Label footerLabel = new Label("Version : v2.0.0");
@@ -33,8 +33,9 @@ public class SinglePlayerView {
         HBox topBar = new HBox(scoreLabel);
         topBar.setAlignment(Pos.CENTER);
         topBar.setPadding(new Insets(10));
-        boardCanvas = new Canvas(boardWidth * CELL_SIZE, boardHeight * CELL_SIZE);
-        boardCanvas.setStyle("-fx-border-color: gray; -fx-border-width: 2px;");
+        renderer = BoardRenderer.create(TetrisConfig.getInstance().getBoardRenderer(),
+                boardWidth, boardHeight, CELL_SIZE, nextCanvas);
+        perfHud = new PerfHud(renderer);
         playerTypeLabel.setStyle("-fx-font-size: 14px; -fx-font-weight: bold;");
         levelLabel.setStyle("-fx-font-size: 13px;");
         linesLabel.setStyle("-fx-font-size: 13px;");
@@ -78,7 +79,7 @@ public class SinglePlayerView {
         VBox bottom = new VBox(backBar, footer);
 
         root.setTop(topBar);
-        root.setCenter(boardCanvas);
+        root.setCenter(new StackPane(renderer.node(), perfHud.node()));
         root.setRight(rightBar);
         root.setBottom(bottom);
         root.setStyle("-fx-background-color: #f9f9f9;");
@@ -98,9 +99,8 @@ public class SinglePlayerView {
         stage.show();
     }
 
-    public Canvas getBoardCanvas() { return boardCanvas; }
-
-    public GraphicsContext getBoardGC() { return boardCanvas.getGraphicsContext2D(); }
+    public BoardRenderer getRenderer() { return renderer; }
+    public PerfHud getPerfHud() { return perfHud; }
 
     public Canvas getNextCanvas() { return nextCanvas; }
 
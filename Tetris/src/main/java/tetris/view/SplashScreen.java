@@ -2,9 +2,9 @@ package tetris.view;
 
 import javafx.application.Application;
 import javafx.application.Platform;
-import javafx.concurrent.Task;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
@@ -15,19 +15,18 @@ import javafx.geometry.Pos;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.util.Duration;
-
-import java.net.URL;
+import tetris.controller.AssetManager;
 
 public class SplashScreen extends Application {
 
     @Override
     public void start(Stage splashStage) {
         splashStage.initStyle(StageStyle.UNDECORATED);
-        URL imageUrl = getClass().getClassLoader().getResource("pic3.png");
-        if (imageUrl == null) {
+        Image splash = AssetManager.image(AssetManager.SPLASH_IMAGE);
+        if (splash == null) {
             throw new IllegalStateException("pic3.png not found in resources!");
         }
-        ImageView splashImage = new ImageView(new Image(imageUrl.toExternalForm()));
+        ImageView splashImage = new ImageView(splash);
         splashImage.setPreserveRatio(false);
         splashImage.setFitWidth(400);
         splashImage.setFitHeight(350);
@@ -45,12 +44,16 @@ public class SplashScreen extends Application {
         loadingLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: white;");
         animateLoadingText(loadingLabel);
 
+        ProgressBar progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(200);
+
         VBox content = new VBox(
                 splashImage,
                 groupLabel,
                 courseLabel,
                 versionLabel,
-                loadingLabel
+                loadingLabel,
+                progressBar
         );
         content.setAlignment(Pos.CENTER);
         content.setSpacing(6);
@@ -63,27 +66,15 @@ public class SplashScreen extends Application {
         splashStage.centerOnScreen();
         splashStage.show();
 
-        Task<Void> loadTask = new Task<>() {
-            @Override
-            protected Void call() throws Exception {
-                Thread.sleep(500);
-                return null;
-            }
-
-            @Override
-            protected void succeeded() {
-                Platform.runLater(() -> {
+        AssetManager.preloadAll(p -> Platform.runLater(() -> progressBar.setProgress(p)))
+                .whenComplete((v, err) -> Platform.runLater(() -> {
                     splashStage.close();
                     try {
                         new MainMenu().start(new Stage());
                     } catch (Exception e) {
                         e.printStackTrace();
                     }
-                });
-            }
-        };
-
-        new Thread(loadTask).start();
+                }));
     }
 
     private void animateLoadingText(Label label) {
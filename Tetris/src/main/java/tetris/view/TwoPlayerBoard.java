@@ -17,14 +17,12 @@ import javafx.stage.Stage;
 import tetris.config.ConfigService;
 import tetris.config.TetrisConfig;
 import tetris.model.PlayerType;
+import tetris.controller.AssetManager;
 import tetris.controller.GamePane;
 import tetris.controller.PlayerFactory;
-import java.net.URL;
 
 public class TwoPlayerBoard extends Application {
 
-    private final String externalHost = "localhost";
-    private final int    externalPort = 3000;
     private MediaPlayer musicPlayer;
     private MediaPlayer beepPlayer;
     private boolean leftOver=false, rightOver=false;
@@ -125,6 +123,7 @@ public class TwoPlayerBoard extends Application {
                 case P -> { left.pauseToggle(); right.pauseToggle(); }
                 case M -> toggleMusic();
                 case N -> toggleSound();
+                case F3 -> { left.togglePerfHud(); right.togglePerfHud(); }
             }
         });
         scene.setOnKeyReleased(e -> {
@@ -182,7 +181,8 @@ public class TwoPlayerBoard extends Application {
 
     private void configureSide(GamePane pane, PlayerType type, Stage stage) {
         try {
-            PlayerFactory.configureForType(pane, type, externalHost, externalPort);
+            PlayerFactory.Endpoint ext = PlayerFactory.endpoints().get(0);
+            PlayerFactory.configureForType(pane, type, ext.host(), ext.port());
             if (type == PlayerType.AI) pane.boost(true);
         } catch (Exception ex) {
             Alert alert = new Alert(Alert.AlertType.WARNING);
@@ -220,12 +220,8 @@ public class TwoPlayerBoard extends Application {
 
     private void initMusicPlayerIfNeeded() {
         if (musicPlayer != null) return;
-        URL musicUrl = getClass().getResource("/sounds/background.mp3");
-        if (musicUrl == null) {
-            System.err.println("background.mp3 not found under /sounds");
-            return;
-        }
-        Media bg = new Media(musicUrl.toExternalForm());
+        Media bg = AssetManager.media(AssetManager.MUSIC);
+        if (bg == null) return;
         musicPlayer = new MediaPlayer(bg);
         musicPlayer.setCycleCount(MediaPlayer.INDEFINITE);
     }
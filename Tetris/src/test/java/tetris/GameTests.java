@@ -12,6 +12,7 @@ import tetris.model.service.HighScoreManager;
 import tetris.model.service.Score;
 import tetris.config.ConfigService;
 import tetris.config.TetrisConfig;
+import tetris.controller.PlayerFactory;
 import tetris.model.service.ScoreService;
 
 import java.util.ArrayList;
@@ -42,6 +43,19 @@ class GameTests {
         assertNotEquals(before, after, "Rotating piece should change occupied cells");
     }
 
+    @Test
+    void testVersionsMoveOnlyWhenStateChanges() {
+        Board board = new Board(4, 4);
+        ActivePiece piece = new ActivePiece(TetrominoType.O, new Vec(0, 2));
+        long b0 = board.version(), p0 = piece.version();
+        assertEquals(0, board.clearLines());
+        assertEquals(b0, board.version(), "Clearing nothing should not need a redraw");
+        piece.moveBy(1, 0);
+        assertNotEquals(p0, piece.version());
+        board.lock(piece, Color.RED);
+        assertNotEquals(b0, board.version());
+    }
+
     @Test
     void testHighScoreSaveAndLoad() {
         HighScoreManager manager = new HighScoreManager();
@@ -116,4 +130,20 @@ class GameTests {
         assertEquals(5, s.getLevel());
         assertEquals("Classic", s.getMode());
     }
+
+    @Test
+    public void testProcTransportNeedsACommand() {
+        TetrisConfig cfg = TetrisConfig.getInstance();
+        String transport = cfg.getExternalTransport(), command = cfg.getExternalCommand();
+        try {
+            cfg.setExternalTransport("proc");
+            cfg.setExternalCommand("  ");
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> PlayerFactory.newNetwork("localhost", 3000));
+            assertTrue(e.getMessage().contains("external command"));
+        } finally {
+            cfg.setExternalTransport(transport);
+            cfg.setExternalCommand(command);
+        }
+    }
 }
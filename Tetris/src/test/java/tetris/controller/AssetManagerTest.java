@@ -0,0 +1,42 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetManagerTest {
+
+    @Test
+    void progressCountsEveryLoadEvenFailedOnes() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        AtomicInteger ran = new AtomicInteger();
+        ConcurrentLinkedQueue<Double> seen = new ConcurrentLinkedQueue<>();
+        List<Runnable> loads = List.of(
+                ran::incrementAndGet,
+                () -> { throw new IllegalStateException("missing asset"); },
+                ran::incrementAndGet,
+                ran::incrementAndGet);
+
+        AssetManager.runAll(loads, seen::add, pool).get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(3, ran.get());
+        assertEquals(4, seen.size());
+        assertEquals(1.0, seen.stream().mapToDouble(Double::doubleValue).max().orElse(0));
+        assertTrue(seen.contains(0.25));
+    }
+
+    @Test
+    void nothingToLoadFinishesAtOnce() {
+        ConcurrentLinkedQueue<Double> seen = new ConcurrentLinkedQueue<>();
+        assertTrue(AssetManager.runAll(List.of(), seen::add, null).isDone());
+        assertEquals(List.of(1.0), List.copyOf(seen));
+    }
+}
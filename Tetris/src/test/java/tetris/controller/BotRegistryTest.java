@@ -0,0 +1,30 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.Test;
+import tetris.model.ai.Heuristic;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotRegistryTest {
+
+    // Registered in src/test/resources/META-INF/services
+    public static class FlatBot implements BotProvider {
+        @Override public String name() { return "Flat"; }
+        @Override public Heuristic heuristic() { return (board, lines) -> 0; }
+    }
+
+    @Test
+    void findsPluginsOnTheClasspathByName() {
+        assertTrue(BotRegistry.names().contains(BotRegistry.DEFAULT));
+        assertTrue(BotRegistry.names().contains("flat"));
+        assertInstanceOf(FlatBot.class, BotRegistry.get("FLAT"));
+        assertInstanceOf(AIPlayer.class, BotRegistry.player("flat"));
+    }
+
+    @Test
+    void unknownNamesFallBackToTheBuiltInBot() {
+        assertNull(BotRegistry.find("nope"));
+        assertEquals(BotRegistry.DEFAULT, BotRegistry.get("nope").name());
+        assertEquals(BotRegistry.DEFAULT, BotRegistry.get(null).name());
+    }
+}
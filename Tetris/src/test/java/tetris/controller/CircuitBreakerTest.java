@@ -0,0 +1,52 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensAfterThresholdAndHalfOpensAfterCooldown() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(3, 1_000, now::get);
+
+        breaker.onFailure();
+        breaker.onFailure();
+        assertTrue(breaker.allowRequest());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.allowRequest());
+        assertEquals(1_000, breaker.remainingCooldownMillis());
+
+        now.set(1_000_000_000L);
+        assertTrue(breaker.allowRequest());            // single trial
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.allowRequest());
+
+        breaker.onFailure();                           // trial failed: open again
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        now.addAndGet(1_000_000_000L);
+        assertTrue(breaker.allowRequest());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void backoffGrowsUpToTheCapAndResets() {
+        Backoff backoff = new Backoff(10, 80);
+        long[] ceilings = {10, 20, 40, 80, 80, 80};
+        for (long ceiling : ceilings) {
+            long d = backoff.nextDelayMillis();
+            assertTrue(d >= 0 && d <= ceiling, d + " > " + ceiling);
+        }
+        assertEquals(ceilings.length, backoff.attempts());
+        backoff.reset();
+        assertEquals(0, backoff.attempts());
+        assertTrue(backoff.nextDelayMillis() <= 10);
+    }
+}
@@ -0,0 +1,101 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.Test;
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalMoveDriverTest {
+
+    // Runs onSim() inline and records what the driver made the board do
+    static class Board implements ExternalMoveDriver.Host {
+        boolean steering;
+        final PureGame game = ExternalPlayerClientTest.sampleGame();
+        final List<Integer> steered = new ArrayList<>();
+        final List<ExternalMoveDriver.Ask> failed = new ArrayList<>();
+        @Override public boolean pieceInPlay() { return true; }
+        @Override public boolean steering() { return steering; }
+        @Override public PureGame snapshot() { return game; }
+        @Override public void onSim(Runnable r) { r.run(); }
+        @Override public void steer(OpMove mv) { steering = true; steered.add(mv.opX); }
+        @Override public void requestFailed(ExternalMoveDriver.Ask why, Throwable err) { failed.add(why); }
+    }
+
+    // Holds each request's callbacks until the test answers it
+    static class Bot implements Player {
+        final List<Consumer<OpMove>> pending = new ArrayList<>();
+        final List<Consumer<Throwable>> errors = new ArrayList<>();
+        @Override public void requestMoveAsync(PureGame game, Consumer<OpMove> onReady, Consumer<Throwable> onError) {
+            pending.add(onReady);
+            errors.add(onError);
+        }
+    }
+
+    private static OpMove move(int x) {
+        OpMove mv = new OpMove();
+        mv.opX = x;
+        return mv;
+    }
+
+    @Test
+    void plannedMoveIsPlayedWithoutAskingWhenTheBoardMatches() {
+        Board board = new Board();
+        Bot bot = new Bot();
+        PooledNetworkTest.StubNet net = new PooledNetworkTest.StubNet("driver");
+        ExternalMoveDriver driver = new ExternalMoveDriver(board);
+        driver.attach(bot, net);
+
+        assertTrue(driver.newPiece());
+        assertEquals(1, bot.pending.size());
+        OpMove first = move(2);
+        first.next = move(5);
+        first.next.expect = AIPlayer.columnHeights(board.game.cells);
+        bot.pending.get(0).accept(first);
+
+        board.steering = false;
+        assertTrue(driver.newPiece());
+        assertEquals(1, bot.pending.size(), "no round trip for the planned piece");
+        assertEquals(List.of(2, 5), board.steered);
+        assertEquals(1, driver.requests().plannedCount());
+
+        board.steering = false;
+        assertTrue(driver.newPiece());
+        assertEquals(2, bot.pending.size());
+    }
+
+    @Test
+    void lateReplyAndIdleTicksDoNotSteerTheWrongPiece() {
+        Board board = new Board();
+        Bot bot = new Bot();
+        ExternalMoveDriver driver = new ExternalMoveDriver(board);
+        driver.attach(bot, new PooledNetworkTest.StubNet("driver"));
+
+        driver.newPiece();
+        for (int i = 0; i < 10; i++) driver.askIfIdle();
+        assertEquals(1, bot.pending.size());
+
+        driver.newPiece();                                            // locked before the reply came
+        bot.pending.get(0).accept(move(3));
+        assertTrue(board.steered.isEmpty());
+        assertEquals(1, driver.requests().stale());
+
+        bot.errors.get(1).accept(new IllegalStateException("timeout"));
+        assertEquals(List.of(ExternalMoveDriver.Ask.SPAWN), board.failed);
+        driver.askIfIdle();
+        assertEquals(2, bot.pending.size(), "a failed piece is only retried after recovery");
+        driver.ask(ExternalMoveDriver.Ask.RECOVERY);
+        assertEquals(3, bot.pending.size());
+    }
+
+    @Test
+    void detachedDriverLeavesThePieceToOthers() {
+        ExternalMoveDriver driver = new ExternalMoveDriver(new Board());
+        assertFalse(driver.newPiece());
+        assertEquals(1, driver.requests().pieces());
+    }
+}
@@ -0,0 +1,220 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tetris.model.ai.BetterHeuristic;
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+import tetris.model.service.NetworkMetrics;
+import tetris.model.service.SessionMetrics;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalPlayerClientTest {
+
+    private FakeExternalServer server;
+    private ExternalPlayerClient client;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) client.disconnect();
+        if (server != null) server.close();
+    }
+
+    static PureGame sampleGame() {
+        PureGame g = new PureGame();
+        g.width = 7; g.height = 18;
+        g.cells = new int[g.height][g.width];
+        for (int x = 0; x < 6; x++) g.cells[17][x] = 1;
+        g.currentShape = new int[][]{{1, 1, 1, 1}};
+        g.nextShape = new int[][]{{1, 1}, {1, 1}};
+        return g;
+    }
+
+    // Collects callbacks so tests can wait on them from the JUnit thread
+    static class Recorder implements NetworkListener {
+        final BlockingQueue<OpMove> moves = new LinkedBlockingQueue<>();
+        final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        @Override public void onMoveReceived(OpMove move) { moves.add(move); }
+        @Override public void onConnectionLost() { events.add("lost"); }
+        @Override public void onConnectionRecovered() { events.add("up"); }
+        @Override public void onProtocolError(String message, Throwable t) { events.add("error"); }
+        @Override public void onSendFailed(long seq, String message, Throwable t) { events.add("send-failed " + seq); }
+    }
+
+    private Recorder connect() {
+        Recorder rec = new Recorder();
+        client = new ExternalPlayerClient("localhost", server.port());
+        client.setListener(rec);
+        client.connect();
+        assertTrue(client.isConnected());
+        return rec;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) Thread.sleep(10);
+        assertTrue(condition.getAsBoolean());
+    }
+
+    // The client closes its socket once the server hangs up
+    private void awaitDisconnected() throws InterruptedException {
+        await(() -> !client.isConnected());
+    }
+
+    @Test
+    void repliesWithTheBrainsMove() throws Exception {
+        server = new FakeExternalServer(new BetterHeuristic());
+        Recorder rec = connect();
+
+        client.sendGameAsync(sampleGame());
+        OpMove mv = rec.moves.poll(5, TimeUnit.SECONDS);
+
+        OpMove expected = new AIPlayer(new BetterHeuristic()).computeBest(sampleGame());
+        assertNotNull(mv);
+        assertEquals(expected.opX, mv.opX);
+        assertEquals(expected.opRotate, mv.opRotate);
+    }
+
+    @Test
+    void keepsSessionOpenForManyRequests() throws Exception {
+        server = new FakeExternalServer(new BetterHeuristic()).setJitterMillis(3);
+        Recorder rec = connect();
+
+        for (int i = 0; i < 50; i++) client.sendGameAsync(sampleGame());
+        for (int i = 0; i < 50; i++) assertNotNull(rec.moves.poll(5, TimeUnit.SECONDS));
+        assertEquals(1, server.connections());
+        assertEquals(50, server.requests());
+    }
+
+    @Test
+    void oneShotServerIsReconnectedLazilyWithoutOutage() throws Exception {
+        server = new FakeExternalServer(new BetterHeuristic()).setOneShot(true);
+        Recorder rec = connect();
+        assertEquals("up", rec.events.poll(1, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 3; i++) {
+            client.sendGameAsync(sampleGame());
+            assertNotNull(rec.moves.poll(5, TimeUnit.SECONDS));
+            awaitDisconnected();
+            assertTrue(client.isAvailable());
+        }
+        await(() -> server.connections() == 3);
+        assertTrue(rec.events.isEmpty(), "closing after a reply is not an outage");
+    }
+
+    @Test
+    void droppedConnectionIsReportedOnceAndRetried() throws Exception {
+        server = new FakeExternalServer(new BetterHeuristic()).setDropRate(1.0);
+        Recorder rec = connect();
+        assertEquals("up", rec.events.poll(1, TimeUnit.SECONDS));
+
+        client.sendGameAsync(sampleGame());
+        assertEquals("lost", rec.events.poll(5, TimeUnit.SECONDS));
+        assertEquals("up", rec.events.poll(5, TimeUnit.SECONDS));   // background reconnect
+        await(() -> server.connections() >= 2);
+        assertTrue(rec.moves.isEmpty());
+    }
+
+    @Test
+    void heartbeatsKeepAnIdleSessionOpen() throws Exception {
+        server = new FakeExternalServer(new BetterHeuristic());
+        client = new ExternalPlayerClient("localhost", server.port());
+        client.setHeartbeatMillis(30);
+        Recorder rec = new Recorder();
+        client.setListener(rec);
+        client.connect();
+        long inBefore = client.metrics().bytesIn();
+
+        Thread.sleep(300);
+        assertTrue(client.isConnected());
+        assertTrue(client.metrics().bytesIn() > inBefore, "pongs should have arrived");
+        assertEquals(1, server.connections());
+        assertEquals(0, server.requests());
+    }
+
+    @Test
+    void heartbeatTimeoutDropsAStalledPeer() throws Exception {
+        server = new FakeExternalServer(new BetterHeuristic()).setThinkMillis(3_000);
+        client = new ExternalPlayerClient("localhost", server.port());
+        client.setHeartbeatMillis(30);
+        Recorder rec = new Recorder();
+        client.setListener(rec);
+        client.connect();
+        assertEquals("up", rec.events.poll(1, TimeUnit.SECONDS));
+
+        client.sendGameAsync(sampleGame());
+        assertEquals("lost", rec.events.poll(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void sendAfterDisconnectFailsThatRequest() throws Exception {
+        server = new FakeExternalServer(new BetterHeuristic());
+        Recorder rec = connect();
+        assertEquals("up", rec.events.poll(1, TimeUnit.SECONDS));
+        client.disconnect();
+
+        client.sendGameAsync(sampleGame());
+        assertEquals("send-failed 1", rec.events.poll(1, TimeUnit.SECONDS));
+        assertTrue(rec.moves.isEmpty());
+    }
+
+    @Test
+    void malformedReplyIsCountedAndSessionSurvives() throws Exception {
+        server = new FakeExternalServer(new BetterHeuristic()).setMalformedRate(1.0);
+        Recorder rec = connect();
+        assertEquals("up", rec.events.poll(1, TimeUnit.SECONDS));
+
+        client.sendGameAsync(sampleGame());
+        assertEquals("error", rec.events.poll(5, TimeUnit.SECONDS));
+        assertTrue(rec.moves.isEmpty());
+        assertTrue(client.isConnected());
+        assertEquals(1, client.metrics().protocolErrors());
+    }
+
+    @Test
+    void recordsTrafficPerSession() throws Exception {
+        server = new FakeExternalServer(new BetterHeuristic()).setThinkMillis(20);
+        Recorder rec = connect();
+        SessionMetrics m = client.metrics();
+        assertEquals(1, m.connects());
+        assertEquals(0, m.reconnects());
+
+        for (int i = 0; i < 5; i++) client.sendGameAsync(sampleGame());
+        for (int i = 0; i < 5; i++) assertNotNull(rec.moves.poll(5, TimeUnit.SECONDS));
+
+        assertTrue(m.name().startsWith("localhost:" + server.port() + "#"));
+        assertTrue(NetworkMetrics.sessions().contains(m));
+        assertEquals(5, m.requestsSent());
+        assertTrue(m.bytesOut() > 0 && m.bytesIn() > 0);
+        assertTrue(m.roundTrip().count() >= 5);
+        assertTrue(m.roundTrip().percentile(50) >= TimeUnit.MILLISECONDS.toNanos(20));
+
+        client.disconnect();
+        assertFalse(NetworkMetrics.sessions().contains(m), "a finished session leaves the live report");
+        client = new ExternalPlayerClient("localhost", server.port());
+        client.connect();
+        SessionMetrics second = client.metrics();
+        assertNotSame(m, second, "a second game against the same server counts on its own");
+        assertEquals(1, second.connects());
+        assertEquals(0, second.reconnects());
+        assertEquals(5, m.requestsSent());
+        assertEquals(0, second.requestsSent());
+    }
+
+    @Test
+    void slowServerStillAnswers() throws Exception {
+        server = new FakeExternalServer(new BetterHeuristic()).setThinkMillis(150);
+        Recorder rec = connect();
+
+        long t0 = System.nanoTime();
+        client.sendGameAsync(sampleGame());
+        assertNotNull(rec.moves.poll(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - t0 >= TimeUnit.MILLISECONDS.toNanos(150));
+    }
+}
@@ -0,0 +1,80 @@
+package tetris.controller;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+import tetris.model.Board;
+import tetris.model.TetrominoType;
+import tetris.model.Vec;
+import tetris.model.piece.ActivePiece;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static tetris.controller.ExternalRequestTracker.State.*;
+
+class ExternalRequestTrackerTest {
+
+    @Test
+    void oneRequestPerPieceHoweverOftenTheTickAsks() {
+        ExternalRequestTracker t = new ExternalRequestTracker();
+        long piece = t.newPiece();
+        assertTrue(t.begin(false));
+        for (int frame = 0; frame < 30; frame++) assertFalse(t.begin(false));
+        assertEquals(IN_FLIGHT, t.state());
+        assertTrue(t.answered(piece));
+        assertFalse(t.begin(false));
+        assertEquals(ANSWERED, t.state());
+        assertEquals(1, t.requests());
+        assertEquals(1, t.suppressed(), "one piece had repeats turned away");
+        assertFalse(t.mayAsk(false));
+        t.newPiece();
+        assertTrue(t.mayAsk(false));
+        assertTrue(t.begin(false));
+        assertFalse(t.begin(false));
+        assertEquals(2, t.suppressed());
+    }
+
+    @Test
+    void lateRepliesForAnOlderPieceAreDropped() {
+        ExternalRequestTracker t = new ExternalRequestTracker();
+        long first = t.newPiece();
+        assertTrue(t.begin(false));
+        long second = t.newPiece();                 // first locked before its answer came
+        assertTrue(t.begin(false));
+        assertFalse(t.answered(first));
+        assertFalse(t.failed(first));
+        assertEquals(IN_FLIGHT, t.state());
+        assertTrue(t.answered(second));
+        assertEquals(1, t.stale());
+        assertEquals(2, t.requests());
+    }
+
+    @Test
+    void failedPieceIsOnlyRetriedWhenAsked() {
+        ExternalRequestTracker t = new ExternalRequestTracker();
+        long piece = t.newPiece();
+        assertTrue(t.begin(false));
+        assertTrue(t.failed(piece));
+        assertFalse(t.begin(false));                // the frame loop does not hammer a failing bot
+        assertTrue(t.begin(true));                  // recovery does
+        assertTrue(t.answered(piece));
+        t.newPiece();
+        t.planned();
+        assertFalse(t.begin(false));
+        assertEquals(1, t.plannedCount());
+        assertEquals(1, t.failedCount());
+    }
+
+    @Test
+    void deadlineLeavesRowsForSteeringAndDoesNotMoveThePiece() {
+        Board board = new Board(10, 20);
+        ActivePiece piece = new ActivePiece(TetrominoType.I, new Vec(0, 0));
+        assertEquals(19, board.dropDistance(piece));
+        assertEquals((19 - 8) * 5L, ExternalRequestTracker.deadlineNanos(board, piece, 5));
+
+        ActivePiece block = new ActivePiece(TetrominoType.O, new Vec(0, 6));
+        board.lock(block, Color.RED);
+        assertEquals(5, board.dropDistance(piece));
+        assertEquals(0, ExternalRequestTracker.deadlineNanos(board, piece, 5), "too close to steer");
+        assertEquals(0, piece.version());
+        assertEquals(0, ExternalRequestTracker.deadlineNanos(board, null, 5));
+    }
+}
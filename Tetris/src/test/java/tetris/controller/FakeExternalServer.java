@@ -0,0 +1,138 @@
+package tetris.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import tetris.model.ai.Heuristic;
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-process stand-in for TetrisServer.jar: newline-delimited PureGame in, OpMove out.
+// Unlike the jar it also answers {"ping":n} heartbeats with {"pong":n}.
+public class FakeExternalServer implements AutoCloseable {
+    private final AIPlayer brain;
+    private final ServerSocketChannel server;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Random rng = new Random(42);
+
+    private volatile long thinkMillis = 0;
+    private volatile long jitterMillis = 0;
+    private volatile double dropRate = 0.0;      // chance to hang up instead of replying
+    private volatile double malformedRate = 0.0; // chance to reply with broken JSON
+    private volatile boolean oneShot = false;    // TetrisServer.jar closes after each reply
+    private volatile boolean running = true;
+
+    private final Set<SocketChannel> open = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    public FakeExternalServer(Heuristic heuristic) throws IOException {
+        this(heuristic, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    public FakeExternalServer(Heuristic heuristic, SocketAddress bindTo) throws IOException {
+        this.brain = new AIPlayer(heuristic);
+        this.server = bindTo instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        this.server.bind(bindTo);
+        Thread.ofVirtual().name("fake-ext-accept").start(this::acceptLoop);
+    }
+
+    public SocketAddress address() {
+        try {
+            return server.getLocalAddress();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int port() {
+        try {
+            return ((InetSocketAddress) server.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public FakeExternalServer setThinkMillis(long v)    { thinkMillis = v; return this; }
+    public FakeExternalServer setJitterMillis(long v)   { jitterMillis = v; return this; }
+    public FakeExternalServer setDropRate(double v)     { dropRate = v; return this; }
+    public FakeExternalServer setMalformedRate(double v){ malformedRate = v; return this; }
+    public FakeExternalServer setOneShot(boolean v)     { oneShot = v; return this; }
+
+    public int connections() { return connections.get(); }
+    public int requests()    { return requests.get(); }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                SocketChannel ch = server.accept();
+                connections.incrementAndGet();
+                open.add(ch);
+                Thread.ofVirtual().name("fake-ext-conn").start(() -> serve(ch));
+            } catch (IOException e) {
+                return; // closed
+            }
+        }
+    }
+
+    private void serve(SocketChannel ch) {
+        try (ch;
+             BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(ch), StandardCharsets.UTF_8));
+             OutputStream out = Channels.newOutputStream(ch)) {
+            String line;
+            while (running && (line = in.readLine()) != null) {
+                if (line.startsWith("{\"ping\"")) {
+                    out.write((line.replace("ping", "pong") + "\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    continue;
+                }
+                requests.incrementAndGet();
+                PureGame game = mapper.readValue(line, PureGame.class);
+                think();
+
+                if (rng.nextDouble() < dropRate) return;
+                String reply = (rng.nextDouble() < malformedRate)
+                        ? "{\"opX\":"
+                        : mapper.writeValueAsString(reply(game));
+                out.write((reply + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                if (oneShot) return;
+            }
+        } catch (IOException ignored) {
+        } finally {
+            open.remove(ch);
+        }
+    }
+
+    protected OpMove reply(PureGame game) {
+        return brain.computeBest(game);
+    }
+
+    private void think() {
+        long delay = thinkMillis + (jitterMillis > 0 ? (long) (rng.nextDouble() * jitterMillis) : 0);
+        if (delay <= 0) return;
+        try { Thread.sleep(delay); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        server.close();
+        for (SocketChannel ch : open) ch.close();
+    }
+}
@@ -0,0 +1,90 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameClockTest {
+
+    private static final long STEP = 10;
+
+    private static class Counting implements GameClock.Engine {
+        final List<Long> steps = new ArrayList<>();
+        int renders;
+        @Override public void step(long simNanos) { steps.add(simNanos); }
+        @Override public void render() { renders++; }
+    }
+
+    @Test
+    void stepsDependOnElapsedTimeNotOnPulseRate() {
+        GameClock fast = new GameClock(STEP, false), slow = new GameClock(STEP, false);
+        Counting a = new Counting(), b = new Counting();
+        fast.add(a);
+        slow.add(b);
+        for (long t = 1; t <= 1_001; t += 3) fast.advance(t);    // ~333 wake-ups
+        for (long t = 1; t <= 1_001; t += 25) slow.advance(t);   // ~40 wake-ups
+        fast.advance(1_001);
+        slow.advance(1_001);
+        assertEquals(100, a.steps.size());
+        assertEquals(a.steps, b.steps);
+        assertEquals(0, a.renders, "stepping never renders");
+    }
+
+    @Test
+    void allEnginesShareEachStep() {
+        GameClock clock = new GameClock(STEP, false);
+        Counting left = new Counting(), right = new Counting();
+        clock.add(left);
+        clock.add(right);
+        clock.advance(1);
+        assertEquals(3, clock.advance(36));
+        assertEquals(List.of(10L, 20L, 30L), left.steps);
+        assertEquals(left.steps, right.steps);
+        assertEquals(3, clock.stepTimes().count(), "timed once per step, not per engine");
+        clock.renderAll();
+        assertEquals(1, right.renders);
+    }
+
+    @Test
+    void engineLeavingMidPulseStopsAtOnceButDrawsItsLastFrame() {
+        GameClock clock = new GameClock(STEP, false);
+        Counting other = new Counting();
+        int[] rendersAfterLeaving = new int[1];
+        GameClock.Engine quitter = new GameClock.Engine() {
+            boolean left;
+            @Override public void step(long simNanos) { assertFalse(left); left = true; clock.remove(this); }
+            @Override public void render() { if (left) rendersAfterLeaving[0]++; }
+        };
+        clock.add(quitter);
+        clock.add(other);
+        clock.advance(1);
+        clock.advance(51);
+        assertEquals(5, other.steps.size());
+        clock.renderAll();
+        assertEquals(1, rendersAfterLeaving[0], "the game-over frame is drawn");
+        clock.renderAll();
+        assertEquals(1, rendersAfterLeaving[0], "and only once");
+    }
+
+    @Test
+    void leaverIsNotDrawnBeforeItsStepEnds() {
+        GameClock clock = new GameClock(STEP, false);
+        int[] renders = new int[1];
+        GameClock.Engine quitter = new GameClock.Engine() {
+            @Override public void step(long simNanos) {
+                clock.remove(this);
+                clock.renderAll();                            // an FX pulse racing the step
+                assertEquals(0, renders[0], "final frame not published yet");
+            }
+            @Override public void render() { renders[0]++; }
+        };
+        clock.add(quitter);
+        clock.advance(1);
+        clock.advance(11);
+        clock.renderAll();
+        assertEquals(1, renders[0]);
+    }
+}
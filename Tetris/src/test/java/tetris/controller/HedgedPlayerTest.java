@@ -0,0 +1,95 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.Test;
+import tetris.model.dto.OpMove;
+import tetris.model.service.SessionMetrics;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedPlayerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private static OpMove move(int x) {
+        OpMove mv = new OpMove();
+        mv.opX = x;
+        return mv;
+    }
+
+    // Answers with `x` after `delayMillis`, or fails when x < 0
+    private static Player stub(int x, long delayMillis, AtomicInteger calls) {
+        return (game, onReady, onError) -> {
+            calls.incrementAndGet();
+            Thread.ofVirtual().start(() -> {
+                try { Thread.sleep(delayMillis); } catch (InterruptedException ignored) {}
+                if (x < 0) onError.accept(new IOException("down"));
+                else onReady.accept(move(x));
+            });
+        };
+    }
+
+    private final BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+    private final SessionMetrics metrics = new SessionMetrics("hedge-test");
+    private final AtomicInteger primaryCalls = new AtomicInteger();
+    private final AtomicInteger fallbackCalls = new AtomicInteger();
+
+    private void request(HedgedPlayer p) {
+        p.requestMoveAsync(ExternalPlayerClientTest.sampleGame(), results::add, results::add);
+    }
+
+    @Test
+    void fastPrimaryAnswersWithoutHedging() throws Exception {
+        HedgedPlayer p = new HedgedPlayer(stub(1, 0, primaryCalls), stub(2, 0, fallbackCalls), metrics);
+        p.setDeadline(() -> 500 * MS);
+        request(p);
+
+        assertEquals(1, ((OpMove) results.poll(2, TimeUnit.SECONDS)).opX);
+        Thread.sleep(400);
+        assertEquals(0, fallbackCalls.get());
+        assertEquals(1, metrics.primaryWins());
+        assertEquals(0, metrics.hedges());
+    }
+
+    @Test
+    void slowPrimaryLosesToFallback() throws Exception {
+        HedgedPlayer p = new HedgedPlayer(stub(1, 1_000, primaryCalls), stub(2, 0, fallbackCalls), metrics);
+        p.setDeadline(() -> 100 * MS);
+        request(p);
+
+        assertEquals(2, ((OpMove) results.poll(2, TimeUnit.SECONDS)).opX);
+        Thread.sleep(1_200);
+        assertTrue(results.isEmpty(), "the late primary answer is ignored");
+        assertEquals(1, metrics.hedges());
+        assertEquals(1, metrics.fallbackWins());
+        assertEquals(0, metrics.primaryWins());
+    }
+
+    @Test
+    void failingPrimaryHedgesImmediately() throws Exception {
+        HedgedPlayer p = new HedgedPlayer(stub(-1, 0, primaryCalls), stub(2, 0, fallbackCalls), metrics);
+        p.setDeadline(() -> 10_000 * MS);
+        long t0 = System.nanoTime();
+        request(p);
+
+        assertEquals(2, ((OpMove) results.poll(2, TimeUnit.SECONDS)).opX);
+        assertTrue(System.nanoTime() - t0 < 1_000 * MS);
+        assertEquals(1, metrics.fallbackWins());
+    }
+
+    @Test
+    void reportsErrorOnceWhenBothFail() throws Exception {
+        HedgedPlayer p = new HedgedPlayer(stub(-1, 0, primaryCalls), stub(-1, 0, fallbackCalls), metrics);
+        request(p);
+
+        assertInstanceOf(IOException.class, results.poll(2, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertTrue(results.isEmpty());
+        assertEquals(1, fallbackCalls.get());
+    }
+}
@@ -0,0 +1,136 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tetris.model.ai.BetterHeuristic;
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+import tetris.model.service.NetworkMetrics;
+import tetris.model.service.SessionMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledNetworkTest {
+
+    private PooledNetwork pool;
+    private final List<FakeExternalServer> servers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (pool != null) pool.disconnect();
+        for (FakeExternalServer s : servers) s.close();
+    }
+
+    // Member the test answers by hand
+    static class StubNet implements INetwork {
+        final String name;
+        final List<PureGame> sent = new ArrayList<>();
+        NetworkListener listener;
+        boolean up = true;
+        final SessionMetrics metrics;
+        StubNet(String name) { this.name = name; this.metrics = NetworkMetrics.session("stub:" + name); }
+        void reply(int x) { OpMove mv = new OpMove(); mv.opX = x; listener.onMoveReceived(mv); }
+        void drop() { up = false; listener.onConnectionLost(); }
+        @Override public void connect() { if (up) listener.onConnectionRecovered(); else listener.onConnectionLost(); }
+        @Override public void disconnect() {}
+        @Override public boolean isConnected() { return up; }
+        @Override public boolean isAvailable() { return up; }
+        @Override public void sendGameAsync(PureGame game) { sent.add(game); }
+        @Override public void setListener(NetworkListener l) { listener = l; }
+        @Override public SessionMetrics metrics() { return metrics; }
+    }
+
+    @Test
+    void repliesAreReleasedInRequestOrder() throws Exception {
+        StubNet a = new StubNet("a"), b = new StubNet("b");
+        pool = new PooledNetwork(List.of(a, b));
+        ExternalPlayerClientTest.Recorder rec = new ExternalPlayerClientTest.Recorder();
+        pool.setListener(rec);
+        pool.connect();
+        assertEquals("up", rec.events.poll());
+
+        pool.sendGameAsync(ExternalPlayerClientTest.sampleGame());  // both idle: goes to a
+        pool.sendGameAsync(ExternalPlayerClientTest.sampleGame());  // a is busy: goes to b
+        assertEquals(1, a.sent.size());
+        assertEquals(1, b.sent.size());
+
+        b.reply(2);
+        assertTrue(rec.moves.isEmpty());                           // held until the first is back
+        a.reply(1);
+        assertEquals(1, rec.moves.poll().opX);
+        assertEquals(2, rec.moves.poll().opX);
+    }
+
+    @Test
+    void failsOverWithoutTellingTheGame() throws Exception {
+        StubNet a = new StubNet("fa"), b = new StubNet("fb");
+        pool = new PooledNetwork(List.of(a, b));
+        ExternalPlayerClientTest.Recorder rec = new ExternalPlayerClientTest.Recorder();
+        pool.setListener(rec);
+        pool.connect();
+        assertEquals("up", rec.events.poll());
+
+        pool.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        a.drop();                                                  // its request moves to b
+        assertEquals(1, b.sent.size());
+        b.reply(7);
+        assertEquals(7, rec.moves.poll().opX);
+        assertTrue(rec.events.isEmpty());
+
+        b.drop();
+        assertEquals("lost", rec.events.poll());
+        assertFalse(pool.isAvailable());
+        b.up = true;
+        b.listener.onConnectionRecovered();
+        assertEquals("up", rec.events.poll());
+    }
+
+    @Test
+    void sendFailureReroutesTheRequestItNames() throws Exception {
+        StubNet a = new StubNet("sa"), b = new StubNet("sb");
+        pool = new PooledNetwork(List.of(a, b));
+        ExternalPlayerClientTest.Recorder rec = new ExternalPlayerClientTest.Recorder();
+        pool.setListener(rec);
+        pool.connect();
+        assertEquals("up", rec.events.poll());
+        b.drop();                                                  // everything queues on a
+
+        pool.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        pool.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        assertEquals(2, a.sent.size());
+        a.listener.onSendFailed(2, "send failed", new java.io.IOException("pipe"));
+        assertEquals(3, a.sent.size(), "the second request is resent");
+
+        a.reply(1);                                                // still owed for the first
+        assertEquals(1, rec.moves.poll().opX);
+        a.reply(2);
+        assertEquals(2, rec.moves.poll().opX);
+        assertTrue(rec.events.isEmpty());
+    }
+
+    @Test
+    void mostRequestsGoToTheFasterReplica() throws Exception {
+        FakeExternalServer slow = new FakeExternalServer(new BetterHeuristic()).setThinkMillis(40);
+        FakeExternalServer fast = new FakeExternalServer(new BetterHeuristic());
+        servers.add(slow);
+        servers.add(fast);
+        pool = new PooledNetwork(List.of(
+                new ExternalPlayerClient("localhost", slow.port()),
+                new ExternalPlayerClient("localhost", fast.port())));
+        ExternalPlayerClientTest.Recorder rec = new ExternalPlayerClientTest.Recorder();
+        pool.setListener(rec);
+        pool.connect();
+        assertTrue(pool.isConnected());
+
+        for (int i = 0; i < 40; i++) {
+            pool.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+            assertNotNull(rec.moves.poll(5, TimeUnit.SECONDS));
+        }
+        assertTrue(fast.requests() > 3 * slow.requests(),
+                "fast=" + fast.requests() + " slow=" + slow.requests());
+    }
+}
@@ -0,0 +1,152 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tetris.ipc.SharedMemoryBot;
+import tetris.model.ai.BetterHeuristic;
+import tetris.model.dto.OpMove;
+import tetris.model.service.LatencyHistogram;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedMemoryClientTest {
+
+    @TempDir Path dir;
+
+    private SharedMemoryClient client;
+    private SharedMemoryBot bot;
+    private Thread botThread;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) client.disconnect();
+        if (bot != null) bot.stop();
+        if (botThread != null) botThread.join(2_000);
+    }
+
+    private void startBot(Path file, java.util.function.Function<tetris.model.dto.PureGame, OpMove> brain) {
+        bot = new SharedMemoryBot(file, brain);
+        botThread = new Thread(bot, "shm-bot");
+        botThread.setDaemon(true);
+        botThread.start();
+    }
+
+    @Test
+    void botAnswersThroughTheMappedFile() throws Exception {
+        Path file = dir.resolve("player.shm");
+        AIPlayer brain = new AIPlayer(new BetterHeuristic());
+        startBot(file, brain::computeBest);
+
+        client = new SharedMemoryClient(file, 4096);
+        ExternalPlayerClientTest.Recorder rec = new ExternalPlayerClientTest.Recorder();
+        client.setListener(rec);
+        client.connect();
+        assertEquals("up", rec.events.poll(1, TimeUnit.SECONDS));
+        assertTrue(client.isConnected());
+
+        client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        OpMove mv = rec.moves.poll(5, TimeUnit.SECONDS);
+        OpMove expected = brain.computeBest(ExternalPlayerClientTest.sampleGame());
+        assertNotNull(mv);
+        assertEquals(expected.opX, mv.opX);
+        assertEquals(expected.opRotate, mv.opRotate);
+    }
+
+    // Extend-mode boards: the plan's column heights outgrow the bot's first reply buffer
+    @Test
+    void widePlanRepliesGetThrough() throws Exception {
+        Path file = dir.resolve("wide.shm");
+        int[] heights = new int[200];
+        java.util.Arrays.fill(heights, 17);
+        startBot(file, g -> {
+            OpMove mv = new OpMove(), next = new OpMove();
+            mv.opX = 3;
+            mv.expect = heights;
+            next.expect = heights;
+            mv.next = next;
+            return mv;
+        });
+        client = new SharedMemoryClient(file, 8192);
+        ExternalPlayerClientTest.Recorder rec = new ExternalPlayerClientTest.Recorder();
+        client.setListener(rec);
+        client.connect();
+        assertEquals("up", rec.events.poll(1, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 2; i++) {
+            client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+            OpMove mv = rec.moves.poll(5, TimeUnit.SECONDS);
+            assertNotNull(mv, "bot still answering");
+            assertEquals(3, mv.opX);
+            assertArrayEquals(heights, mv.next.expect);
+        }
+    }
+
+    // connect() runs on the FX thread, so it must not wait for the bot
+    @Test
+    void connectReturnsAtOnceAndReportsAMissingBotLater() throws Exception {
+        client = new SharedMemoryClient(dir.resolve("nobody.shm"), 4096);
+        ExternalPlayerClientTest.Recorder rec = new ExternalPlayerClientTest.Recorder();
+        client.setListener(rec);
+        long t0 = System.nanoTime();
+        client.connect();
+        assertTrue(System.nanoTime() - t0 < TimeUnit.MILLISECONDS.toNanos(200), "connect() blocked");
+        assertTrue(client.isAttaching());
+        assertFalse(client.isConnected());
+        client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        assertEquals("send-failed 1", rec.events.poll(1, TimeUnit.SECONDS), "failures name their request");
+        assertEquals("send-failed 2", rec.events.poll(1, TimeUnit.SECONDS));
+        assertEquals("lost", rec.events.poll(3, TimeUnit.SECONDS));
+        assertFalse(client.isAttaching());
+
+        startBot(dir.resolve("nobody.shm"), g -> new OpMove());
+        assertEquals("up", rec.events.poll(3, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void staleBotIsReportedLostAndRecovered() throws Exception {
+        Path file = dir.resolve("lost.shm");
+        startBot(file, g -> new OpMove());
+        client = new SharedMemoryClient(file, 4096);
+        ExternalPlayerClientTest.Recorder rec = new ExternalPlayerClientTest.Recorder();
+        client.setListener(rec);
+        client.connect();
+        assertEquals("up", rec.events.poll(1, TimeUnit.SECONDS));
+
+        bot.stop();
+        botThread.join(2_000);
+        assertEquals("lost", rec.events.poll(3, TimeUnit.SECONDS));
+        assertFalse(client.isAvailable());
+
+        startBot(file, g -> new OpMove());
+        assertEquals("up", rec.events.poll(3, TimeUnit.SECONDS));
+    }
+
+    // Fixed-move bot, so the numbers are transport cost; compare with UnixSocketClientTest's output
+    @Test
+    void roundTripLatency() throws Exception {
+        Path file = dir.resolve("bench.shm");
+        startBot(file, g -> new OpMove());
+        client = new SharedMemoryClient(file);
+        ExternalPlayerClientTest.Recorder rec = new ExternalPlayerClientTest.Recorder();
+        client.setListener(rec);
+        client.connect();
+        assertEquals("up", rec.events.poll(1, TimeUnit.SECONDS));
+
+        LatencyHistogram rtt = new LatencyHistogram();
+        for (int i = 0; i < 1_200; i++) {
+            long t0 = System.nanoTime();
+            client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+            assertNotNull(rec.moves.poll(5, TimeUnit.SECONDS));
+            if (i >= 200) rtt.record(System.nanoTime() - t0);
+        }
+        System.out.printf("[bench] rtt over 1000 requests: shm p50=%.1fus p99=%.1fus%n",
+                rtt.percentile(50) / 1e3, rtt.percentile(99) / 1e3);
+        assertEquals(1_000, rtt.count());
+        assertEquals(0, client.metrics().protocolErrors());
+    }
+}
@@ -0,0 +1,119 @@
+package tetris.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotCodecTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private static String text(SnapshotCodec c, int n) {
+        return new String(c.array(), 0, n, StandardCharsets.US_ASCII);
+    }
+
+    private static int decode(String line, OpMove into) {
+        byte[] b = line.getBytes(StandardCharsets.UTF_8);
+        return SnapshotCodec.decode(b, 0, b.length, into);
+    }
+
+    @Test
+    void encodesTheSameBytesAsJackson() throws Exception {
+        SnapshotCodec codec = new SnapshotCodec();
+        PureGame g = ExternalPlayerClientTest.sampleGame();
+        g.cells[3][2] = -7;
+        assertEquals(mapper.writeValueAsString(g) + "\n", text(codec, codec.encode(g)));
+
+        PureGame empty = new PureGame();
+        assertEquals(mapper.writeValueAsString(empty) + "\n", text(codec, codec.encode(empty)));
+
+        PureGame big = new PureGame();
+        big.width = 40; big.height = 200;
+        big.cells = new int[200][40];
+        assertEquals(mapper.writeValueAsString(big) + "\n", text(codec, codec.encode(big)));
+        assertEquals("{\"ping\":12345}\n", text(codec, codec.encodePing(12345)));
+    }
+
+    @Test
+    void decodesMovesAndPongs() throws Exception {
+        OpMove mv = new OpMove();
+        assertEquals(SnapshotCodec.MOVE, decode("{\"opX\":4,\"opRotate\":3}", mv));
+        assertEquals(4, mv.opX);
+        assertEquals(3, mv.opRotate);
+
+        assertEquals(SnapshotCodec.MOVE, decode(" { \"opRotate\" : -1 , \"opX\" : 0 }\r", mv));
+        assertEquals(0, mv.opX);
+        assertEquals(-1, mv.opRotate);
+
+        assertEquals(SnapshotCodec.MOVE, decode("{\"note\":\"a \\\"quoted\\\" }\",\"plan\":[{\"x\":[1,2]}],\"ok\":true,\"opX\":2}", mv));
+        assertEquals(2, mv.opX);
+
+        assertEquals(SnapshotCodec.PONG, decode("{\"pong\":7}", mv));
+
+        OpMove viaJackson = mapper.readValue("{\"opX\":5,\"opRotate\":2}", OpMove.class);
+        decode(mapper.writeValueAsString(viaJackson), mv);
+        assertEquals(5, mv.opX);
+        assertEquals(2, mv.opRotate);
+    }
+
+    @Test
+    void decodesPlansWrittenByJackson() throws Exception {
+        PureGame g = ExternalPlayerClientTest.sampleGame();
+        OpMove plan = new AIPlayer(new tetris.model.ai.BetterHeuristic()).computePlan(g);
+        assertNotNull(plan.next);
+        assertEquals(g.width, plan.next.expect.length);
+
+        OpMove mv = new OpMove();
+        assertEquals(SnapshotCodec.MOVE, decode(mapper.writeValueAsString(plan), mv));
+        assertEquals(plan.opX, mv.opX);
+        assertEquals(plan.next.opX, mv.next.opX);
+        assertEquals(plan.next.opRotate, mv.next.opRotate);
+        assertArrayEquals(plan.next.expect, mv.next.expect);
+        assertNull(mv.expect);
+
+        decode("{\"opX\":1,\"opRotate\":0,\"next\":null,\"expect\":null}", mv);
+        assertNull(mv.next);
+        decode("{\"opX\":1,\"next\":{\"opX\":2,\"expect\":[],\"next\":{\"opX\":3}}}", mv);
+        assertEquals(3, mv.next.next.opX);
+        assertEquals(0, mv.next.expect.length);
+        assertThrows(IllegalArgumentException.class, () -> decode("{\"opX\":1,\"expect\":[1,}", new OpMove()));
+    }
+
+    @Test
+    void rejectsMalformedReplies() {
+        OpMove mv = new OpMove();
+        for (String bad : new String[]{"", "{\"opX\":", "{\"opX\":1", "{\"opX\":x}", "{\"opX\":1.5}",
+                "[1]", "{\"opX\":1}}", "{opX:1}", "{\"note\":\"unterminated}"}) {
+            assertThrows(IllegalArgumentException.class, () -> decode(bad, mv), bad);
+        }
+    }
+
+    @Test
+    void lineReaderHandlesSplitAndLongLines() throws Exception {
+        String longLine = "x".repeat(20_000);
+        byte[] data = ("{\"opX\":1}\n\n" + longLine + "\n{\"pong\":2}\ntail").getBytes(StandardCharsets.US_ASCII);
+        InputStream trickle = new ByteArrayInputStream(data) {
+            @Override public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+        LineReader in = new LineReader(trickle);
+
+        assertEquals("{\"opX\":1}", line(in, in.next()));
+        assertEquals("", line(in, in.next()));
+        assertEquals(longLine, line(in, in.next()));
+        assertEquals("{\"pong\":2}", line(in, in.next()));
+        assertEquals(-1, in.next());
+    }
+
+    private static String line(LineReader in, int n) {
+        return new String(in.array(), in.lineStart(), n, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,21 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoundServiceTest {
+
+    @Test
+    void keyRepeatIsThinnedPerEffect() {
+        long ms = TimeUnit.MILLISECONDS.toNanos(1);
+        long t = 1_000 * ms;
+        assertTrue(SoundService.admit("/test/a.wav", t));
+        assertFalse(SoundService.admit("/test/a.wav", t + 30 * ms));   // auto-repeat is ~30 ms
+        assertTrue(SoundService.admit("/test/b.wav", t + 30 * ms), "other effects are not held back");
+        assertTrue(SoundService.admit("/test/a.wav", t + 60 * ms));
+        assertFalse(SoundService.admit("/test/a.wav", t + 90 * ms));
+    }
+}
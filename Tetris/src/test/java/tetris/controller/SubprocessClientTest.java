@@ -0,0 +1,102 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tetris.model.dto.OpMove;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubprocessClientTest {
+
+    private SubprocessClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) client.disconnect();
+    }
+
+    // Child-process bot: answers with its own request count as opX.
+    // Args: [exitAfter] [hangAt], 0 = never
+    public static class CountingBot {
+        public static void main(String[] args) throws Exception {
+            int exitAfter = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+            int hangAt = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+            int count = 0;
+            while (in.readLine() != null) {
+                count++;
+                if (count == hangAt) Thread.sleep(Long.MAX_VALUE);
+                System.out.println("{\"opX\":" + count + ",\"opRotate\":0}");
+                System.out.flush();
+                if (count == exitAfter) System.exit(3);
+            }
+        }
+    }
+
+    private ExternalPlayerClientTest.Recorder start(int exitAfter, int hangAt) throws Exception {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        client = new SubprocessClient(List.of(java, "-cp", System.getProperty("java.class.path"),
+                CountingBot.class.getName(), "" + exitAfter, "" + hangAt), 10, 50)
+                .setMoveTimeoutMillis(2_000);
+        ExternalPlayerClientTest.Recorder rec = new ExternalPlayerClientTest.Recorder();
+        client.setListener(rec);
+        client.connect();
+        assertEquals("up", rec.events.poll(1, TimeUnit.SECONDS));
+        return rec;
+    }
+
+    @Test
+    void sendWithoutARunningBotFailsThatRequest() throws Exception {
+        client = new SubprocessClient(List.of("/nonexistent/tetris-bot"), 1_000, 1_000);
+        ExternalPlayerClientTest.Recorder rec = new ExternalPlayerClientTest.Recorder();
+        client.setListener(rec);
+        client.connect();
+        assertEquals("lost", rec.events.poll(1, TimeUnit.SECONDS));
+        client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        assertEquals("send-failed 1", rec.events.poll(1, TimeUnit.SECONDS));
+        assertEquals("send-failed 2", rec.events.poll(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void pipelinedRequestsComeBackInOrder() throws Exception {
+        ExternalPlayerClientTest.Recorder rec = start(0, 0);
+        for (int i = 0; i < 5; i++) client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        for (int i = 1; i <= 5; i++) {
+            OpMove mv = rec.moves.poll(10, TimeUnit.SECONDS);
+            assertNotNull(mv);
+            assertEquals(i, mv.opX);
+        }
+        assertEquals(5, client.metrics().roundTrip().count());
+    }
+
+    @Test
+    void crashedBotIsRestarted() throws Exception {
+        ExternalPlayerClientTest.Recorder rec = start(1, 0);
+        client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        assertEquals(1, rec.moves.poll(10, TimeUnit.SECONDS).opX);
+        assertEquals("lost", rec.events.poll(5, TimeUnit.SECONDS));
+        assertEquals("up", rec.events.poll(10, TimeUnit.SECONDS));
+
+        client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        assertEquals(1, rec.moves.poll(10, TimeUnit.SECONDS).opX); // a fresh process counts from one
+    }
+
+    @Test
+    void botStuckPastTheDeadlineIsReplaced() throws Exception {
+        ExternalPlayerClientTest.Recorder rec = start(0, 2);
+        client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        assertEquals(1, rec.moves.poll(10, TimeUnit.SECONDS).opX);
+
+        client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        assertEquals("lost", rec.events.poll(5, TimeUnit.SECONDS));
+        assertEquals("up", rec.events.poll(10, TimeUnit.SECONDS));
+        assertTrue(rec.moves.isEmpty());
+        assertTrue(client.metrics().protocolErrors() > 0);
+    }
+}
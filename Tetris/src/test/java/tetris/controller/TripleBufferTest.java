@@ -0,0 +1,53 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TripleBufferTest {
+
+    private static class Frame { long a, b; }
+
+    @Test
+    void readerSeesOnlyTheNewestFrameOnce() {
+        TripleBuffer<Frame> buf = new TripleBuffer<>(Frame::new);
+        assertNull(buf.poll());
+        for (int i = 1; i <= 3; i++) {
+            buf.back().a = i;
+            buf.publish();
+        }
+        assertEquals(3, buf.poll().a);
+        assertNull(buf.poll(), "nothing new since the last poll");
+        buf.back().a = 4;
+        buf.publish();
+        assertEquals(4, buf.poll().a);
+    }
+
+    @Test
+    void framesAreNeverTornAcrossThreads() throws Exception {
+        TripleBuffer<Frame> buf = new TripleBuffer<>(Frame::new);
+        int count = 200_000;
+        Thread writer = new Thread(() -> {
+            for (long i = 1; i <= count; i++) {
+                Frame f = buf.back();
+                f.a = i;
+                Thread.onSpinWait();
+                f.b = i;
+                buf.publish();
+            }
+        });
+        writer.start();
+        long last = 0;
+        while (last < count) {
+            Frame f = buf.poll();
+            if (f == null) { Thread.onSpinWait(); continue; }
+            long a = f.a;
+            Thread.yield();                                  // let the writer run while we hold it
+            assertEquals(a, f.a);
+            assertEquals(a, f.b);
+            assertTrue(a > last, "frames only move forward");
+            last = a;
+        }
+        writer.join();
+    }
+}
@@ -0,0 +1,102 @@
+package tetris.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tetris.model.ai.BetterHeuristic;
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+import tetris.model.service.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnixSocketClientTest {
+
+    @TempDir Path dir;
+
+    private FakeExternalServer tcpServer, unixServer;
+    private ExternalPlayerClient tcp, unix;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (tcp != null) tcp.disconnect();
+        if (unix != null) unix.disconnect();
+        if (tcpServer != null) tcpServer.close();
+        if (unixServer != null) unixServer.close();
+    }
+
+    private ExternalPlayerClientTest.Recorder attach(ExternalPlayerClient client) {
+        ExternalPlayerClientTest.Recorder rec = new ExternalPlayerClientTest.Recorder();
+        client.setListener(rec);
+        client.connect();
+        assertTrue(client.isConnected());
+        return rec;
+    }
+
+    @Test
+    void speaksTheSameProtocolOverAUnixSocket() throws Exception {
+        Path sock = dir.resolve("player.sock");
+        unixServer = new FakeExternalServer(new BetterHeuristic(), UnixDomainSocketAddress.of(sock));
+        unix = new UnixSocketClient(sock);
+        ExternalPlayerClientTest.Recorder rec = attach(unix);
+
+        unix.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        OpMove mv = rec.moves.poll(5, TimeUnit.SECONDS);
+        OpMove expected = new AIPlayer(new BetterHeuristic()).computeBest(ExternalPlayerClientTest.sampleGame());
+        assertNotNull(mv);
+        assertEquals(expected.opX, mv.opX);
+        assertEquals(expected.opRotate, mv.opRotate);
+        assertEquals(1, unixServer.connections());
+        assertTrue(unix.metrics().name().startsWith("unix:" + sock + "#"));
+    }
+
+    // Sequential round trips over each transport; prints the comparison and checks both held up
+    @Test
+    void roundTripLatencyAgainstLoopbackTcp() throws Exception {
+        Path sock = dir.resolve("bench.sock");
+        unixServer = new EchoServer(UnixDomainSocketAddress.of(sock));
+        tcpServer = new EchoServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        unix = new UnixSocketClient(sock);
+        tcp = new ExternalPlayerClient("localhost", tcpServer.port());
+        ExternalPlayerClientTest.Recorder unixRec = attach(unix);
+        ExternalPlayerClientTest.Recorder tcpRec = attach(tcp);
+
+        int warmup = 200, rounds = 1_000;
+        LatencyHistogram tcpRtt = new LatencyHistogram(), unixRtt = new LatencyHistogram();
+        for (int i = 0; i < warmup + rounds; i++) {
+            boolean measure = i >= warmup;
+            roundTrip(tcp, tcpRec, measure ? tcpRtt : null);
+            roundTrip(unix, unixRec, measure ? unixRtt : null);
+        }
+
+        System.out.printf("[bench] rtt over %d requests: tcp p50=%.1fus p99=%.1fus | unix p50=%.1fus p99=%.1fus%n",
+                rounds, tcpRtt.percentile(50) / 1e3, tcpRtt.percentile(99) / 1e3,
+                unixRtt.percentile(50) / 1e3, unixRtt.percentile(99) / 1e3);
+        assertEquals(rounds, tcpRtt.count());
+        assertEquals(rounds, unixRtt.count());
+        assertEquals(1, tcpServer.connections());
+        assertEquals(1, unixServer.connections());
+    }
+
+    // Answers instantly so the numbers are transport cost, not search time
+    private static class EchoServer extends FakeExternalServer {
+        EchoServer(SocketAddress at) throws IOException { super(new BetterHeuristic(), at); }
+        @Override protected OpMove reply(PureGame game) { return new OpMove(); }
+    }
+
+    private static void roundTrip(ExternalPlayerClient client, ExternalPlayerClientTest.Recorder rec,
+                                  LatencyHistogram into) throws InterruptedException {
+        long t0 = System.nanoTime();
+        client.sendGameAsync(ExternalPlayerClientTest.sampleGame());
+        assertNotNull(rec.moves.poll(5, TimeUnit.SECONDS));
+        if (into != null) into.record(System.nanoTime() - t0);
+    }
+}
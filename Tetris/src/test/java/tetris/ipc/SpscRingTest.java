@@ -0,0 +1,77 @@
+package tetris.ipc;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpscRingTest {
+
+    private static SpscRing ring(int capacity) {
+        return new SpscRing(ByteBuffer.allocateDirect(SpscRing.bytesFor(capacity)).order(ByteOrder.nativeOrder()));
+    }
+
+    @Test
+    void keepsRecordsInOrderAcrossTheWrap() {
+        SpscRing r = ring(64);
+        byte[] out = new byte[r.maxRecord()];
+        for (int round = 0; round < 50; round++) {
+            byte[] a = new byte[5 + round % 20];
+            a[0] = (byte) round;
+            assertTrue(r.offer(a, 0, a.length));
+            assertEquals(a.length, r.poll(out));
+            assertEquals((byte) round, out[0]);
+        }
+        assertEquals(-1, r.poll(out));
+    }
+
+    @Test
+    void refusesWhenFullAndAcceptsOnceDrained() {
+        SpscRing r = ring(64);
+        byte[] rec = new byte[12];                          // 16 bytes with its length
+        for (int i = 0; i < 4; i++) assertTrue(r.offer(rec, 0, rec.length));
+        assertFalse(r.offer(rec, 0, rec.length));
+        assertEquals(12, r.poll(new byte[r.maxRecord()]));
+        assertTrue(r.offer(rec, 0, rec.length));
+        assertThrows(IllegalArgumentException.class, () -> r.offer(new byte[64], 0, 64));
+    }
+
+    @Test
+    void largestRecordAlwaysGetsThrough() {
+        SpscRing r = ring(64);
+        byte[] out = new byte[r.maxRecord()];
+        assertTrue(r.offer(new byte[3], 0, 3));
+        assertEquals(3, r.poll(out));
+        byte[] big = new byte[r.maxRecord()];
+        assertFalse(r.offer(big, 0, big.length));           // publishes the wrap first
+        assertEquals(-1, r.poll(out));                      // consumer skips it
+        assertTrue(r.offer(big, 0, big.length));
+        assertEquals(big.length, r.poll(out));
+    }
+
+    @Test
+    void producerAndConsumerThreadsAgree() throws Exception {
+        SpscRing r = ring(1024);
+        int count = 200_000;
+        Thread producer = new Thread(() -> {
+            byte[] rec = new byte[32];
+            for (int i = 0; i < count; i++) {
+                ByteBuffer.wrap(rec).putInt(0, i);
+                int len = 4 + i % 28;
+                assertTrue(r.put(rec, 0, len, TimeUnit.SECONDS.toNanos(5)));
+            }
+        });
+        producer.start();
+        byte[] out = new byte[r.maxRecord()];
+        for (int i = 0; i < count; i++) {
+            int n = r.take(out, TimeUnit.SECONDS.toNanos(5));
+            assertEquals(4 + i % 28, n);
+            assertEquals(i, ByteBuffer.wrap(out).getInt(0));
+        }
+        producer.join();
+        assertEquals(-1, r.poll(out));
+    }
+}
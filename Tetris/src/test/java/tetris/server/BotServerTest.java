@@ -0,0 +1,131 @@
+package tetris.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tetris.model.dto.OpMove;
+import tetris.model.dto.PureGame;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotServerTest {
+
+    private BotServer server;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (server != null) server.close();
+    }
+
+    private static OpMove move(int x, int rot) {
+        OpMove mv = new OpMove();
+        mv.opX = x; mv.opRotate = rot;
+        return mv;
+    }
+
+    @Test
+    void headlessGameClearsAFilledRow() {
+        HeadlessGame g = new HeadlessGame(6, 8, 3, 0);
+        int[][] shape = g.snapshot().currentShape;
+        int[] bottom = shape[shape.length - 1];
+        for (int x = 0; x < 6; x++) g.cells()[7][x] = (x < bottom.length && bottom[x] != 0) ? 0 : 1;
+
+        assertTrue(g.apply(move(0, 0)));
+        assertEquals(1, g.lines());
+        assertEquals(100, g.score());
+        assertEquals(1, g.pieces());
+    }
+
+    @Test
+    void illegalMoveDropsAtSpawnAndStackingEndsTheGame() {
+        HeadlessGame g = new HeadlessGame(4, 4, 7, 0);
+        assertFalse(g.apply(move(99, 0)));
+        assertEquals(1, g.pieces());
+        for (int i = 0; i < 20 && !g.isGameOver(); i++) g.apply(move(0, 0));
+        assertTrue(g.isGameOver());
+        assertFalse(g.apply(move(0, 0)));
+    }
+
+    // Blocking bot: reads snapshots until the server hangs up, answers with a random legal column
+    private static int playGame(int port, long seed) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Random rng = new Random(seed);
+        int moves = 0;
+        try (Socket s = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             OutputStream out = s.getOutputStream()) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                PureGame g = mapper.readValue(line, PureGame.class);
+                int x = rng.nextInt(g.width - g.currentShape[0].length + 1);
+                out.write((mapper.writeValueAsString(move(x, 0)) + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                moves++;
+            }
+        }
+        return moves;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) Thread.sleep(10);
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    void runsManyGamesConcurrently() throws Exception {
+        server = new BotServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2)
+                .setMaxPieces(25).start();
+        int games = 100;
+        List<Thread> bots = new ArrayList<>();
+        int[] played = new int[games];
+        for (int i = 0; i < games; i++) {
+            int id = i;
+            bots.add(Thread.ofVirtual().start(() -> {
+                try { played[id] = playGame(server.port(), id); } catch (IOException e) { played[id] = -1; }
+            }));
+        }
+        for (Thread t : bots) t.join(TimeUnit.SECONDS.toMillis(20));
+
+        await(() -> server.gamesFinished() == games);
+        assertEquals(0, server.activeGames());
+        List<BotServer.GameResult> results = server.results();
+        assertEquals(games, results.size());
+        for (BotServer.GameResult r : results) {
+            assertTrue(r.pieces() > 0 && r.pieces() <= 25);
+            assertEquals(0, r.illegalMoves());
+            assertEquals(0, r.timeouts());
+        }
+        for (int p : played) assertTrue(p > 0);
+        assertEquals(server.movesApplied(), results.stream().mapToLong(BotServer.GameResult::pieces).sum()
+                + results.stream().filter(r -> r.pieces() < 25).count());
+        assertTrue(server.botLatency().count() > 0);
+    }
+
+    @Test
+    void silentBotTimesOutAndTheGameStillAdvances() throws Exception {
+        server = new BotServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1)
+                .setMaxPieces(3).setMoveTimeoutMillis(50).start();
+        try (Socket s = new Socket(InetAddress.getLoopbackAddress(), server.port())) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+            int snapshots = 0;
+            while (in.readLine() != null) snapshots++;
+            assertEquals(3, snapshots);
+        }
+        await(() -> server.gamesFinished() == 1);
+        BotServer.GameResult r = server.results().get(0);
+        assertEquals(3, r.pieces());
+        assertEquals(3, r.timeouts());
+    }
+}
@@ -0,0 +1,96 @@
+package tetris.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpectatorFeedTest {
+
+    private SpectatorFeed feed;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (feed != null) feed.close();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) Thread.sleep(5);
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private Socket viewer() throws Exception {
+        Socket s = new Socket(InetAddress.getLoopbackAddress(), feed.port());
+        await(() -> feed.viewers() == 1);
+        return s;
+    }
+
+    @Test
+    void sendsKeyframeThenDeltasThenEnd() throws Exception {
+        feed = new SpectatorFeed(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        try (Socket s = viewer()) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+            int board = feed.openBoard();
+            int[] cells = new int[3 * 2];
+            cells[4] = 1;
+            feed.publish(board, 3, 2, cells, 0, 0);
+            assertEquals("K " + board + " 1 3 2 0 0 000010", in.readLine());
+
+            feed.publish(board, 3, 2, cells, 0, 0);       // unchanged: nothing sent
+            cells[0] = 2;
+            feed.publish(board, 3, 2, cells, 100, 1);
+            assertEquals("D " + board + " 2 100 1 0:2", in.readLine());
+
+            feed.closeBoard(board);
+            assertEquals("E " + board, in.readLine());
+            assertEquals(2, feed.framesPublished());
+        }
+    }
+
+    @Test
+    void slowViewerIsCoalescedWithoutBlockingThePublisher() throws Exception {
+        feed = new SpectatorFeed(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        Socket stalled = new Socket();
+        stalled.setReceiveBufferSize(1024);
+        stalled.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), feed.port()));
+        await(() -> feed.viewers() == 1);
+
+        int board = feed.openBoard();
+        int w = 200, h = 200;
+        int[] cells = new int[w * h];
+        long t0 = System.nanoTime();
+        for (int i = 0; i < 2_000; i++) {
+            for (int k = 0; k < cells.length; k += 2) cells[k] = (i + k) & 1; // every frame rewrites half the board
+            feed.publish(board, w, h, cells, i, 0);
+        }
+        long elapsed = System.nanoTime() - t0;
+
+        assertEquals(2_000, feed.framesPublished());
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(3), "publishing must not wait on the viewer");
+        assertTrue(feed.framesSent() < 2_000);
+
+        // Once the viewer drains, it jumps to the newest frame
+        BufferedReader in = new BufferedReader(new InputStreamReader(stalled.getInputStream(), StandardCharsets.US_ASCII));
+        String last = null;
+        String line;
+        stalled.setSoTimeout(500);
+        try {
+            while ((line = in.readLine()) != null) last = line;
+        } catch (java.net.SocketTimeoutException drained) {
+        }
+        assertNotNull(last);
+        assertEquals("1999", last.split(" ")[last.startsWith("K") ? 5 : 3]);
+        assertTrue(feed.framesCoalesced() > 0);
+        stalled.close();
+    }
+}
@@ -0,0 +1,34 @@
+package tetris.service;
+
+import org.junit.jupiter.api.Test;
+import tetris.model.service.LatencyHistogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentilesStayWithinBucketPrecision() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) h.record(i * 1_000L); // 1us .. 1ms
+
+        assertEquals(1000, h.count());
+        assertEquals(1_000_000L, h.max());
+        assertEquals(500_500.0, h.mean(), 1e-6);
+        assertEquals(500_000.0, h.percentile(50), 500_000 * 0.13);
+        assertEquals(990_000.0, h.percentile(99), 990_000 * 0.13);
+        assertEquals(1_000_000L, h.percentile(100));
+    }
+
+    @Test
+    void emptyAndResetHistogramsReportZero() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.percentile(99));
+        h.record(5);
+        h.record(7);
+        assertEquals(7, h.percentile(100));
+        h.reset();
+        assertEquals(0, h.count());
+        assertEquals(0.0, h.mean());
+    }
+}
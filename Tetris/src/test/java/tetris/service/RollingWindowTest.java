@@ -0,0 +1,42 @@
+package tetris.service;
+
+import org.junit.jupiter.api.Test;
+import tetris.model.service.LatencyHistogram;
+import tetris.model.service.RollingWindow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingWindowTest {
+
+    @Test
+    void eachRollCoversOnlyWhatWasRecordedSinceTheLast() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 0; i < 100; i++) h.record(5_000_000L);   // before the window existed
+        RollingWindow w = new RollingWindow(h);
+        assertEquals(0, w.roll().count());
+
+        for (int i = 0; i < 10; i++) h.record(1_000L);
+        w.roll();
+        assertEquals(10, w.count());
+        assertEquals(1_000.0, w.percentile(99), 1_000 * 0.13);
+
+        h.record(2_000_000L);
+        w.roll();
+        assertEquals(1, w.count());
+        assertEquals(2_000_000.0, w.percentile(50), 2_000_000 * 0.13);
+        assertEquals(111, h.count(), "the source keeps its totals");
+        assertEquals(0, w.roll().percentile(99));
+    }
+
+    @Test
+    void resetSourceStartsAFreshWindow() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(7);
+        h.record(7);
+        RollingWindow w = new RollingWindow(h);
+        h.reset();
+        h.record(3);
+        assertEquals(1, w.roll().count());
+        assertEquals(3, w.percentile(100));
+    }
+}
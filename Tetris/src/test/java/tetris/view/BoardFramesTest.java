@@ -0,0 +1,36 @@
+package tetris.view;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+import tetris.model.Board;
+import tetris.model.TetrominoType;
+import tetris.model.Vec;
+import tetris.model.piece.ActivePiece;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardFramesTest {
+
+    @Test
+    void publishesOnlyChangesAndCopiesLockedCells() {
+        BoardFrames frames = new BoardFrames();
+        Board board = new Board(4, 4);
+        ActivePiece piece = new ActivePiece(TetrominoType.O, new Vec(0, 0));
+        assertTrue(frames.publish(board, piece, Color.RED, TetrominoType.T, Color.BLUE, false, false, 0, 0));
+        assertFalse(frames.publish(board, piece, Color.RED, TetrominoType.T, Color.BLUE, false, false, 0, 0));
+        BoardFrame first = frames.poll();
+        assertNotNull(first);
+        assertNull(frames.poll());
+
+        piece.moveBy(0, 2);
+        board.lock(piece, Color.RED);
+        assertTrue(frames.publish(board, null, null, TetrominoType.T, Color.BLUE, false, false, 0, 0));
+        BoardFrame second = frames.poll();
+        assertNotEquals(first.lockedStamp(), second.lockedStamp());
+        assertEquals(Color.RED, second.locked()[3][1]);
+        assertNotSame(board.cells(), second.locked(), "the frame holds a copy");
+
+        assertTrue(frames.publish(board, null, null, TetrominoType.T, Color.BLUE, true, false, 0, 0));
+        assertTrue(frames.poll().paused());
+    }
+}
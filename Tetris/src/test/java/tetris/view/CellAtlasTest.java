@@ -0,0 +1,27 @@
+package tetris.view;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CellAtlasTest {
+
+    @Test
+    void tileHasBorderBevelAndFill() {
+        int size = 20;
+        int[] px = CellAtlas.tilePixels(Color.RED, size);
+        assertEquals(size * size, px.length);
+        int black = 0xFF000000, red = 0xFFFF0000;
+        for (int i = 0; i < size; i++) {
+            assertEquals(black, px[i]);                          // top row
+            assertEquals(black, px[(size - 1) * size + i]);      // bottom row
+            assertEquals(black, px[i * size]);                   // left column
+            assertEquals(black, px[i * size + size - 1]);        // right column
+        }
+        assertEquals(red, px[(size / 2) * size + size / 2]);
+        int topLeft = px[size + 1], bottomRight = px[(size - 2) * size + size - 2];
+        assertTrue((topLeft & 0xFF00) > 0, "top-left edge is lightened");
+        assertTrue(((bottomRight >> 16) & 0xFF) < 0xFF, "bottom-right edge is darkened");
+    }
+}
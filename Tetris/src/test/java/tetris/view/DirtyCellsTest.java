@@ -0,0 +1,49 @@
+package tetris.view;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+import tetris.model.Vec;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirtyCellsTest {
+
+    private static Set<Integer> changed(DirtyCells d, int n) {
+        Set<Integer> s = new HashSet<>();
+        for (int k = 0; k < n; k++) s.add(d.changed(k));
+        return s;
+    }
+
+    @Test
+    void onlyTheCellsThePieceLeftAndEnteredAreRepainted() {
+        Color[][] locked = new Color[4][3];
+        locked[3][0] = Color.RED;
+        DirtyCells d = new DirtyCells();
+        d.reset(3, 4);
+
+        assertEquals(Set.of(9, 1), changed(d, d.update(locked, List.of(new Vec(1, 0)), Color.BLUE)));
+        assertEquals(0, d.update(locked, List.of(new Vec(1, 0)), Color.BLUE));      // idle frame
+        assertEquals(Set.of(1, 4), changed(d, d.update(locked, List.of(new Vec(1, 1)), Color.BLUE)));
+        assertNull(d.shown(1));
+        assertEquals(Color.BLUE, d.shown(4));
+    }
+
+    @Test
+    void lockAndClearAreComparedOnce() {
+        Color[][] locked = new Color[4][3];
+        DirtyCells d = new DirtyCells();
+        d.reset(3, 4);
+        d.update(locked, List.of(new Vec(0, 3), new Vec(1, 3), new Vec(2, 3)), Color.BLUE);
+
+        locked[3][0] = locked[3][1] = locked[3][2] = Color.BLUE;                    // the piece locks...
+        locked[3][0] = locked[3][1] = locked[3][2] = null;                          // ...and the row clears
+        locked[3][1] = Color.GREEN;                                                 // a row drops into place
+        d.lockedChanged();
+        assertEquals(Set.of(9, 10, 11, 1), changed(d, d.update(locked, List.of(new Vec(1, 0)), Color.RED)));
+        assertEquals(0, d.update(locked, List.of(new Vec(1, 0)), Color.RED));
+    }
+}
@@ -0,0 +1,42 @@
+package tetris.view;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+import tetris.model.Vec;
+
+import java.nio.IntBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PixelBoardRendererTest {
+
+    private static final int CELL = 4, W = 100, H = 3;
+
+    @Test
+    void writesOnlyChangedCellsAndReportsTheirBounds() {
+        DirtyCells d = new DirtyCells();
+        d.reset(W, H);
+        Color[][] locked = new Color[H][W];
+        assertEquals(0, d.update(locked, List.of(), null));   // empty board: nothing to draw
+
+        IntBuffer px = IntBuffer.allocate(W * CELL * H * CELL);
+        int[] red = CellAtlas.tilePixels(Color.RED, CELL);
+        int n = d.update(locked, List.of(new Vec(50, 1), new Vec(51, 1)), Color.RED);
+        Rectangle2D dirty = PixelBoardRenderer.paintCells(px, W, CELL, d, n,
+                c -> c == null ? PixelBoardRenderer.emptyTile(CELL) : red);
+
+        assertEquals(new Rectangle2D(50 * CELL, CELL, 2 * CELL, CELL), dirty);
+        int stride = W * CELL;
+        assertEquals(red[CELL + 1], px.get((CELL + 1) * stride + 50 * CELL + 1));
+        assertEquals(0, px.get((CELL + 1) * stride + 52 * CELL + 1), "cells outside the change stay untouched");
+    }
+
+    @Test
+    void emptyTileIsOutlineOnly() {
+        int[] t = PixelBoardRenderer.emptyTile(CELL);
+        assertNotEquals(0, t[0]);
+        assertEquals(0, t[CELL + 1]);
+    }
+}